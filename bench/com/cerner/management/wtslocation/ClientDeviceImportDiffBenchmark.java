@@ -0,0 +1,171 @@
+/*
+ * File: ClientDeviceImportDiffBenchmark.java
+ * Package: com.cerner.management.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.cerner.management.exception.ManagementException;
+
+/**
+ * Times the import diff that matched each stored device with {@code List.indexOf} and
+ * {@code List.remove} against the diff on hash keys that ClientDeviceFileTransferListener uses, which
+ * {@link DeviceKey} repeats because the key of the listener is private.
+ * The stored devices differ from the imported ones in casing and come in another order, as they do
+ * from the database, so both diffs must match every device; the benchmark fails if they do not.
+ * <p>
+ * It lives in the bench source root, which is not shipped. Compile it against the classes of src and
+ * run it with {@code java com.cerner.management.wtslocation.ClientDeviceImportDiffBenchmark [rows]},
+ * 100000 rows by default.
+ */
+final class ClientDeviceImportDiffBenchmark
+{
+   private ClientDeviceImportDiffBenchmark()
+   {
+   }
+
+   public static void main(String[] args) throws ManagementException
+   {
+      int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+
+      List<ClientDevice> imported = new ArrayList<ClientDevice>(rows);
+      List<ClientDevice> stored = new ArrayList<ClientDevice>(rows);
+      for (int i = 0; i < rows; i++)
+      {
+         imported.add(device("Mnemonic", "Prod", "Device" + i, "Domain" + (i % 10)));
+         stored.add(device("MNEMONIC", "prod", "DEVICE" + i, "domain" + (i % 10)));
+      }
+
+      // the database returns the devices in another order than the file
+      Collections.shuffle(stored, new Random(13));
+
+      // warm up both diffs on a small slice first
+      int warmUp = Math.min(rows, 2000);
+      listDiff(stored.subList(0, warmUp), new ArrayList<ClientDevice>(imported.subList(0, warmUp)));
+      hashDiff(stored.subList(0, warmUp), imported.subList(0, warmUp));
+
+      long start = System.nanoTime();
+      int listMatched = listDiff(stored, new ArrayList<ClientDevice>(imported));
+      long listNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      int hashMatched = hashDiff(stored, imported);
+      long hashNanos = System.nanoTime() - start;
+
+      System.out.println("rows:              " + rows);
+      System.out.println("indexOf/remove:    " + listNanos / 1000000 + " ms, " + listMatched + " matched");
+      System.out.println("hash keys:         " + hashNanos / 1000000 + " ms, " + hashMatched + " matched");
+      System.out.println("speed-up:          " + String.format("%.1f", (double) listNanos / Math.max(1, hashNanos)) + "x");
+
+      if (listMatched != rows || hashMatched != rows)
+      {
+         throw new IllegalStateException("The diffs did not match every device.");
+      }
+   }
+
+   /**
+    * The diff as it was, a linear search of the imported devices for every stored device
+    */
+   private static int listDiff(List<ClientDevice> stored, List<ClientDevice> imported)
+   {
+      int matched = 0;
+      for (ClientDevice existingDevice : stored)
+      {
+         int idx = imported.indexOf(existingDevice);
+         if (idx >= 0)
+         {
+            imported.remove(idx);
+            matched++;
+         }
+      }
+      return matched;
+   }
+
+   /**
+    * The diff on hash keys computed once per device
+    */
+   private static int hashDiff(List<ClientDevice> stored, List<ClientDevice> imported)
+   {
+      Map<DeviceKey, ClientDevice> byKey = new HashMap<DeviceKey, ClientDevice>(imported.size() * 4 / 3 + 1);
+      for (ClientDevice device : imported)
+      {
+         byKey.put(new DeviceKey(device), device);
+      }
+
+      int matched = 0;
+      for (ClientDevice existingDevice : stored)
+      {
+         if (byKey.remove(new DeviceKey(existingDevice)) != null)
+         {
+            matched++;
+         }
+      }
+      return matched;
+   }
+
+   private static ClientDevice device(String mnemonic, String environment, String name, String logicalDomain)
+      throws ManagementException
+   {
+      return new ClientDevice(mnemonic, environment, name, name, new ClientDeviceAttribute[0], logicalDomain, null,
+         null, null, null);
+   }
+
+   /**
+    * The key ClientDeviceFileTransferListener diffs the devices on: the lower case device id,
+    * mnemonic, environment and logical domain, with the hash computed once
+    */
+   private static final class DeviceKey
+   {
+      private final String deviceId;
+      private final String clientMnemonic;
+      private final String millenniumEnvironment;
+      private final String logicalDomain;
+      private final int hash;
+
+      private DeviceKey(ClientDevice device)
+      {
+         this.deviceId = lower(device.getDeviceId());
+         this.clientMnemonic = lower(device.getClientMnemonic());
+         this.millenniumEnvironment = lower(device.getMillenniumEnvironment());
+         this.logicalDomain = lower(device.getLogicalDomain());
+
+         int result = this.deviceId.hashCode();
+         result = 31 * result + this.clientMnemonic.hashCode();
+         result = 31 * result + this.millenniumEnvironment.hashCode();
+         result = 31 * result + this.logicalDomain.hashCode();
+         hash = result;
+      }
+
+      private static String lower(String value)
+      {
+         return value != null ? value.toLowerCase() : "";
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object o)
+      {
+         if (!(o instanceof DeviceKey))
+         {
+            return false;
+         }
+
+         DeviceKey key = (DeviceKey) o;
+         return hash == key.hash && deviceId.equals(key.deviceId) && clientMnemonic.equals(key.clientMnemonic)
+            && millenniumEnvironment.equals(key.millenniumEnvironment) && logicalDomain.equals(key.logicalDomain);
+      }
+   }
+}
@@ -0,0 +1,267 @@
+/*
+ * File: CacheRefreshScheduler.java
+ * Package: com.cerner.management.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.cerner.management.logging.ManagementLogger;
+
+/**
+ * Refreshes the caches of wtslocation in the background on a few shared daemon threads. Each cache
+ * registers once with its refresh interval, read from a system property. Every refresh is scheduled a
+ * random part of the interval early, so caches registered together do not refresh together, and a
+ * failed refresh is retried after a minute at most.
+ */
+public class CacheRefreshScheduler
+{
+   private static Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation");
+
+   private static final String THREADS_PROPERTY = "com.cerner.management.wtslocation.cache.refresh.threads";
+   private static final String JITTER_PROPERTY = "com.cerner.management.wtslocation.cache.refresh.jitter";
+
+   // 1 minute between attempts after a failed refresh
+   private static final long RETRY_RATE = 1000 * 60;
+
+   private static final CacheRefreshScheduler instance = new CacheRefreshScheduler();
+
+   /**
+    * A refresh of a cache
+    */
+   public interface Refresh
+   {
+      /**
+       * Reloads the cache, which keeps its previous content if the reload fails.
+       * 
+       * @throws Exception if the cache could not be reloaded
+       */
+      void refresh() throws Exception;
+   }
+
+   private final ScheduledThreadPoolExecutor executor;
+   private final double jitter;
+   private final List<Registration> registrations = new ArrayList<Registration>();
+
+   /**
+    * @return the instance of the scheduler
+    */
+   public static CacheRefreshScheduler getInstance()
+   {
+      return instance;
+   }
+
+   private CacheRefreshScheduler()
+   {
+      final AtomicInteger count = new AtomicInteger();
+      executor = new ScheduledThreadPoolExecutor(Math.max(1, Integer.getInteger(THREADS_PROPERTY, 2)),
+         new ThreadFactory()
+         {
+            public Thread newThread(Runnable runnable)
+            {
+               Thread thread = new Thread(runnable, "WTSLocationCacheRefresh-" + count.incrementAndGet());
+               thread.setDaemon(true);
+               return thread;
+            }
+         });
+
+      double configured = 0.2;
+      try
+      {
+         configured = Double.parseDouble(System.getProperty(JITTER_PROPERTY, "0.2"));
+      }
+      catch (NumberFormatException e)
+      {
+         logger.log(Level.WARNING, "The cache refresh jitter is not a number, 0.2 is used.", e);
+      }
+      jitter = Math.min(1, Math.max(0, configured));
+   }
+
+   /**
+    * Refreshes a cache every interval until the application stops.
+    * 
+    * @param name the name of the cache, as shown in the statistics
+    * @param intervalProperty the system property of the refresh interval in milliseconds
+    * @param defaultInterval the interval if the property is not set, 0 or less to not refresh
+    * @param refresh
+    * @return the refresh interval in milliseconds, 0 or less if the cache is not refreshed
+    */
+   public long register(String name, String intervalProperty, long defaultInterval, Refresh refresh)
+   {
+      long interval = Long.getLong(intervalProperty, defaultInterval);
+
+      Registration registration = new Registration(name, interval, refresh);
+      synchronized (registrations)
+      {
+         registrations.add(registration);
+      }
+
+      if (interval > 0)
+      {
+         schedule(registration, nextDelay(interval));
+      }
+      return interval;
+   }
+
+   /**
+    * Moves the next refresh of a registered cache forward to a minute from now at most, after which a
+    * failed refresh is retried as usual. Meant for a cache that could not be loaded when it was first
+    * used, which would otherwise stay empty for a whole interval.
+    * 
+    * @param refresh the refresh the cache registered with
+    */
+   public void retry(Refresh refresh)
+   {
+      Registration registration = null;
+      synchronized (registrations)
+      {
+         for (Registration candidate : registrations)
+         {
+            if (candidate.refresh == refresh)
+            {
+               registration = candidate;
+            }
+         }
+      }
+
+      if (registration != null)
+      {
+         long delay = retryDelay(registration.interval);
+         synchronized (registration)
+         {
+            // a running refresh schedules the next one itself
+            if (registration.next == null || registration.next.isDone()
+               || (registration.next.getDelay(TimeUnit.MILLISECONDS) > delay && registration.next.cancel(false)))
+            {
+               schedule(registration, delay);
+            }
+         }
+      }
+   }
+
+   /**
+    * @return the statistics of the registered caches, in order of registration
+    */
+   public CacheRefreshStatistics[] getStatistics()
+   {
+      List<CacheRefreshStatistics> statistics = new ArrayList<CacheRefreshStatistics>();
+      synchronized (registrations)
+      {
+         for (Registration registration : registrations)
+         {
+            statistics.add(registration.toStatistics());
+         }
+      }
+      return statistics.toArray(new CacheRefreshStatistics[statistics.size()]);
+   }
+
+   private long nextDelay(long interval)
+   {
+      return interval - (long) (ThreadLocalRandom.current().nextDouble() * jitter * interval);
+   }
+
+   private long retryDelay(long interval)
+   {
+      return interval > 0 ? Math.min(interval, RETRY_RATE) : RETRY_RATE;
+   }
+
+   private void schedule(final Registration registration, long delay)
+   {
+      synchronized (registration)
+      {
+         registration.next = executor.schedule(new Runnable()
+         {
+            public void run()
+            {
+               if (!registration.run())
+               {
+                  schedule(registration, retryDelay(registration.interval));
+               }
+               else if (registration.interval > 0)
+               {
+                  schedule(registration, nextDelay(registration.interval));
+               }
+            }
+         }, delay, TimeUnit.MILLISECONDS);
+      }
+   }
+
+   /**
+    * A registered cache and the outcome of its refreshes
+    */
+   private static final class Registration
+   {
+      private final String name;
+      private final long interval;
+      private final Refresh refresh;
+
+      private long lastRefreshTime = 0;
+      private long lastRefreshDuration = 0;
+      private long refreshCount = 0;
+      private long failureCount = 0;
+      private String lastFailure = null;
+
+      // the only scheduled refresh of the cache, guarded by the registration
+      private ScheduledFuture<?> next = null;
+
+      private Registration(String name, long interval, Refresh refresh)
+      {
+         this.name = name;
+         this.interval = interval;
+         this.refresh = refresh;
+      }
+
+      /**
+       * @return true if the cache was refreshed
+       */
+      private boolean run()
+      {
+         long start = System.currentTimeMillis();
+         Exception failure = null;
+         try
+         {
+            refresh.refresh();
+         }
+         catch (RuntimeException e)
+         {
+            failure = e;
+            logger.log(Level.WARNING, "Could not refresh the cache " + name, e);
+         }
+         catch (Exception e)
+         {
+            failure = e;
+            logger.log(Level.INFO, "Could not refresh the cache " + name, e);
+         }
+
+         synchronized (this)
+         {
+            lastRefreshTime = start;
+            lastRefreshDuration = System.currentTimeMillis() - start;
+            refreshCount++;
+            if (failure != null)
+            {
+               failureCount++;
+               lastFailure = String.valueOf(failure.getMessage());
+            }
+         }
+         return failure == null;
+      }
+
+      private synchronized CacheRefreshStatistics toStatistics()
+      {
+         return new CacheRefreshStatistics(name, interval, lastRefreshTime / 1000, lastRefreshDuration,
+            refreshCount, failureCount, lastFailure);
+      }
+   }
+}
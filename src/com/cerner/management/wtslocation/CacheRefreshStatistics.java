@@ -0,0 +1,94 @@
+package com.cerner.management.wtslocation;
+
+/**
+ * The refreshes of a cache registered with the {@link CacheRefreshScheduler} at the time they were
+ * retrieved.
+ */
+public class CacheRefreshStatistics
+{
+   private final String name;
+   private final long refreshInterval;
+   private final long lastRefreshTime;
+   private final long lastRefreshDuration;
+   private final long refreshCount;
+   private final long failureCount;
+   private final String lastFailure;
+
+   /**
+    * @param name the name of the cache
+    * @param refreshInterval the refresh interval in milliseconds, 0 or less if the cache is not
+    *           refreshed
+    * @param lastRefreshTime the start of the last refresh in seconds, or 0 if it was never refreshed
+    * @param lastRefreshDuration the duration of the last refresh in milliseconds
+    * @param refreshCount
+    * @param failureCount
+    * @param lastFailure the error of the last failed refresh or null
+    */
+   public CacheRefreshStatistics(String name, long refreshInterval, long lastRefreshTime, long lastRefreshDuration,
+      long refreshCount, long failureCount, String lastFailure)
+   {
+      this.name = name;
+      this.refreshInterval = refreshInterval;
+      this.lastRefreshTime = lastRefreshTime;
+      this.lastRefreshDuration = lastRefreshDuration;
+      this.refreshCount = refreshCount;
+      this.failureCount = failureCount;
+      this.lastFailure = lastFailure;
+   }
+
+   /**
+    * @return The name of the cache
+    */
+   public String getName()
+   {
+      return name;
+   }
+
+   /**
+    * @return The refresh interval in milliseconds, 0 or less if the cache is not refreshed
+    */
+   public long getRefreshInterval()
+   {
+      return refreshInterval;
+   }
+
+   /**
+    * @return The start of the last refresh in seconds, or 0 if the cache was never refreshed
+    */
+   public long getLastRefreshTime()
+   {
+      return lastRefreshTime;
+   }
+
+   /**
+    * @return The duration of the last refresh in milliseconds
+    */
+   public long getLastRefreshDuration()
+   {
+      return lastRefreshDuration;
+   }
+
+   /**
+    * @return The number of refreshes, failed or not
+    */
+   public long getRefreshCount()
+   {
+      return refreshCount;
+   }
+
+   /**
+    * @return The number of failed refreshes
+    */
+   public long getFailureCount()
+   {
+      return failureCount;
+   }
+
+   /**
+    * @return The error of the last failed refresh, or null
+    */
+   public String getLastFailure()
+   {
+      return lastFailure;
+   }
+}
@@ -0,0 +1,156 @@
+/*
+ * File: ClientDeviceCsvBlockReader.java
+ * Package: com.cerner.management.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits CSV text into blocks of whole records so the blocks can be parsed independently. A line
+ * break only ends a record outside of quotes, so quoted values may span lines.
+ */
+class ClientDeviceCsvBlockReader
+{
+   private final Reader in;
+   private final char[] buffer = new char[8192];
+   private final StringBuilder pending = new StringBuilder();
+
+   /**
+    * @param in the text, starting at the beginning of a record
+    */
+   ClientDeviceCsvBlockReader(Reader in)
+   {
+      this.in = in;
+   }
+
+   /**
+    * Reads the next block of records.
+    *
+    * @param records the number of records in a block, the last block may have fewer
+    * @return the text of the records including their line breaks, or null at the end of the text
+    * @throws IOException
+    */
+   String nextBlock(int records) throws IOException
+   {
+      // each block starts at the beginning of a record, outside of quotes
+      boolean quoted = false;
+      int count = 0;
+      int i = 0;
+      while (true)
+      {
+         if (i == pending.length())
+         {
+            int read = in.read(buffer);
+            if (read < 0)
+            {
+               break;
+            }
+            pending.append(buffer, 0, read);
+            continue;
+         }
+
+         char c = pending.charAt(i++);
+         if (c == '"')
+         {
+            // an escaped quote toggles twice
+            quoted = !quoted;
+         }
+         else if (c == '\n' && !quoted && ++count >= records)
+         {
+            String block = pending.substring(0, i);
+            pending.delete(0, i);
+            return block;
+         }
+      }
+
+      if (pending.length() == 0)
+      {
+         return null;
+      }
+      String block = pending.toString();
+      pending.setLength(0);
+      return block;
+   }
+
+   /**
+    * Parses the records of a block as described in RFC 4180. An empty line is a record with a single
+    * empty value, and a line break inside a quoted value is read as a new line character.
+    *
+    * @param block the text of whole records
+    * @return the values of each record
+    */
+   static List<String[]> parseRecords(CharSequence block)
+   {
+      List<String[]> records = new ArrayList<String[]>();
+      List<String> values = new ArrayList<String>();
+      StringBuilder value = new StringBuilder();
+      boolean quoted = false;
+
+      int length = block.length();
+      for (int i = 0; i < length; i++)
+      {
+         char c = block.charAt(i);
+         if (quoted)
+         {
+            if (c == '"')
+            {
+               if (i + 1 < length && block.charAt(i + 1) == '"')
+               {
+                  value.append('"');
+                  i++;
+               }
+               else
+               {
+                  quoted = false;
+               }
+            }
+            else if (c == '\r' && i + 1 < length && block.charAt(i + 1) == '\n')
+            {
+               // the line break is read as the new line that follows
+            }
+            else
+            {
+               value.append(c);
+            }
+         }
+         else if (c == '"')
+         {
+            quoted = true;
+         }
+         else if (c == ',')
+         {
+            values.add(value.toString());
+            value.setLength(0);
+         }
+         else if (c == '\n' || c == '\r')
+         {
+            if (c == '\r' && i + 1 < length && block.charAt(i + 1) == '\n')
+            {
+               i++;
+            }
+            values.add(value.toString());
+            value.setLength(0);
+            records.add(values.toArray(new String[values.size()]));
+            values.clear();
+         }
+         else
+         {
+            value.append(c);
+         }
+      }
+
+      // the last record of the text may not end with a line break
+      if (value.length() > 0 || !values.isEmpty())
+      {
+         values.add(value.toString());
+         records.add(values.toArray(new String[values.size()]));
+      }
+      return records;
+   }
+}
@@ -0,0 +1,381 @@
+/*
+ * File: ClientDeviceCsvMappedReader.java
+ * Package: com.cerner.management.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.cerner.management.logging.ManagementLogger;
+
+/**
+ * Reads the records of a UTF-8 CSV file straight from a memory mapping of the file, as described in
+ * RFC 4180. The separators, quotes and line breaks are single bytes that never occur inside a
+ * multi-byte character, so the records are split on the bytes and only the values the caller needs
+ * are decoded, through buffers reused from record to record.
+ * <p>
+ * A mapped file cannot be deleted on Windows while the mapping exists, so the reader returned by
+ * {@link #open(File)} must be closed once the file has been read.
+ */
+class ClientDeviceCsvMappedReader
+{
+   private static final Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation");
+
+   private static final byte QUOTE = '"';
+   private static final byte SEPARATOR = ',';
+   private static final byte CR = '\r';
+   private static final byte LF = '\n';
+
+   private final ByteBuffer buffer;
+
+   // the bytes of the value being read and its characters when they are all ASCII
+   private byte[] bytes = new byte[256];
+   private char[] chars = new char[256];
+   private int length = 0;
+
+   // the blocks being read from the mapping and whether it has been released
+   private int readers = 0;
+   private boolean closed = false;
+
+   /**
+    * @param buffer the records, read from its position to its limit
+    */
+   ClientDeviceCsvMappedReader(ByteBuffer buffer)
+   {
+      this.buffer = buffer;
+   }
+
+   /**
+    * Maps a file for reading. The mapping stays valid after the channel is closed until the reader
+    * is closed.
+    *
+    * @param file
+    * @return the reader, or null if the file is compressed or too large for a single mapping
+    * @throws IOException
+    */
+   static ClientDeviceCsvMappedReader open(File file) throws IOException
+   {
+      RandomAccessFile in = new RandomAccessFile(file, "r");
+      try
+      {
+         FileChannel channel = in.getChannel();
+         long size = channel.size();
+         if (size > Integer.MAX_VALUE)
+         {
+            return null;
+         }
+
+         ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+         if (size >= 2 && buffer.get(0) == (byte) 0x1f && buffer.get(1) == (byte) 0x8b)
+         {
+            // gzip files are decompressed as a stream
+            unmap(buffer);
+            return null;
+         }
+         if (size >= 3 && buffer.get(0) == (byte) 0xef && buffer.get(1) == (byte) 0xbb && buffer.get(2) == (byte) 0xbf)
+         {
+            // skip the byte order mark
+            buffer.position(3);
+         }
+         return new ClientDeviceCsvMappedReader(buffer);
+      }
+      finally
+      {
+         in.close();
+      }
+   }
+
+   /**
+    * Registers a reader of a block split off by {@link #nextBlock(int)}, which must call
+    * {@link #releaseBlock()} when it is done.
+    *
+    * @return false if the mapping has been released and the block must not be read
+    */
+   synchronized boolean acquireBlock()
+   {
+      if (closed)
+      {
+         return false;
+      }
+      readers++;
+      return true;
+   }
+
+   /**
+    * Ends the reading of a block registered with {@link #acquireBlock()}.
+    */
+   synchronized void releaseBlock()
+   {
+      if (--readers == 0)
+      {
+         notifyAll();
+      }
+   }
+
+   /**
+    * Releases the mapping once the blocks being read are done, rather than when the buffer is
+    * collected. Blocks that have not started are no longer read.
+    */
+   synchronized void close()
+   {
+      if (closed)
+      {
+         return;
+      }
+      closed = true;
+
+      boolean interrupted = false;
+      while (readers > 0)
+      {
+         try
+         {
+            wait();
+         }
+         catch (InterruptedException e)
+         {
+            // a stopped import still has to wait for the blocks, which are short
+            interrupted = true;
+         }
+      }
+      if (interrupted)
+      {
+         Thread.currentThread().interrupt();
+      }
+
+      unmap(buffer);
+   }
+
+   /**
+    * Reads the next record, decoding all of its values.
+    *
+    * @return the values or null at the end of the buffer
+    */
+   String[] readRecord()
+   {
+      int start = buffer.position();
+      int count = readRecord(new String[0], null);
+      if (count < 0)
+      {
+         return null;
+      }
+
+      // read the record again now that the number of values is known
+      buffer.position(start);
+      String[] values = new String[count];
+      readRecord(values, null);
+      return values;
+   }
+
+   /**
+    * Reads the next record.
+    *
+    * @param values receives the values of the record, the array is reused and values past its end
+    *           are counted but not kept
+    * @param decode which values to decode or null for all of them, the others are set to null
+    * @return the number of values of the record or -1 at the end of the buffer
+    */
+   int readRecord(String[] values, boolean[] decode)
+   {
+      int pos = buffer.position();
+      int limit = buffer.limit();
+      if (pos >= limit)
+      {
+         return -1;
+      }
+
+      int count = 0;
+      boolean quoted = false;
+      boolean keep = isKept(count, values, decode);
+      length = 0;
+
+      while (pos < limit)
+      {
+         byte b = buffer.get(pos++);
+         if (quoted)
+         {
+            if (b == QUOTE)
+            {
+               if (pos < limit && buffer.get(pos) == QUOTE)
+               {
+                  pos++;
+                  append(keep, b);
+               }
+               else
+               {
+                  quoted = false;
+               }
+            }
+            else if (b == CR && pos < limit && buffer.get(pos) == LF)
+            {
+               // the line break is read as the new line that follows
+            }
+            else
+            {
+               append(keep, b);
+            }
+         }
+         else if (b == QUOTE)
+         {
+            quoted = true;
+         }
+         else if (b == SEPARATOR)
+         {
+            store(count++, keep, values);
+            keep = isKept(count, values, decode);
+            length = 0;
+         }
+         else if (b == LF || b == CR)
+         {
+            if (b == CR && pos < limit && buffer.get(pos) == LF)
+            {
+               pos++;
+            }
+            break;
+         }
+         else
+         {
+            append(keep, b);
+         }
+      }
+      store(count++, keep, values);
+
+      buffer.position(pos);
+      return count;
+   }
+
+   /**
+    * Splits off the next block of records without reading their values.
+    *
+    * @param records the number of records in a block, the last block may have fewer
+    * @return the records, sharing the content of this reader, or null at the end of the buffer
+    */
+   ByteBuffer nextBlock(int records)
+   {
+      int start = buffer.position();
+      int limit = buffer.limit();
+      if (start >= limit)
+      {
+         return null;
+      }
+
+      boolean quoted = false;
+      int count = 0;
+      int pos = start;
+      while (pos < limit)
+      {
+         byte b = buffer.get(pos++);
+         if (b == QUOTE)
+         {
+            // an escaped quote toggles twice
+            quoted = !quoted;
+         }
+         else if (b == LF && !quoted && ++count >= records)
+         {
+            break;
+         }
+      }
+
+      ByteBuffer block = buffer.duplicate();
+      block.position(start);
+      block.limit(pos);
+      buffer.position(pos);
+      return block.slice();
+   }
+
+   /**
+    * Unmaps a mapped buffer, through Unsafe.invokeCleaner on Java 9 and later and through the
+    * cleaner of the buffer on Java 8. Where neither is available the mapping is left to the garbage
+    * collector.
+    *
+    * @param buffer the mapped buffer, which must not be read afterwards
+    */
+   private static void unmap(ByteBuffer buffer)
+   {
+      try
+      {
+         Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+         Method invokeCleaner;
+         try
+         {
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+         }
+         catch (NoSuchMethodException e)
+         {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null)
+            {
+               cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+            return;
+         }
+
+         Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+         theUnsafe.setAccessible(true);
+         invokeCleaner.invoke(theUnsafe.get(null), buffer);
+      }
+      catch (Exception e)
+      {
+         logger.log(Level.FINE, "Unable to release the mapping, it is released when collected.", e);
+      }
+   }
+
+   private static boolean isKept(int index, String[] values, boolean[] decode)
+   {
+      return index < values.length && (decode == null || (index < decode.length && decode[index]));
+   }
+
+   private void append(boolean keep, byte b)
+   {
+      if (keep)
+      {
+         if (length == bytes.length)
+         {
+            byte[] grown = new byte[length * 2];
+            System.arraycopy(bytes, 0, grown, 0, length);
+            bytes = grown;
+         }
+         bytes[length++] = b;
+      }
+   }
+
+   private void store(int index, boolean keep, String[] values)
+   {
+      if (index >= values.length)
+      {
+         return;
+      }
+      if (!keep)
+      {
+         values[index] = null;
+         return;
+      }
+
+      if (chars.length < length)
+      {
+         chars = new char[Math.max(length, chars.length * 2)];
+      }
+      for (int i = 0; i < length; i++)
+      {
+         if (bytes[i] < 0)
+         {
+            values[index] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            return;
+         }
+         chars[i] = (char) bytes[i];
+      }
+      values[index] = new String(chars, 0, length);
+   }
+}
@@ -0,0 +1,48 @@
+package com.cerner.management.wtslocation;
+
+/**
+ * The result of an export of the client devices updated since a point in time.
+ */
+public class ClientDeviceExport
+{
+   private final String stub;
+   private final long highWaterMark;
+   private final boolean fullExport;
+
+   /**
+    * @param stub the serialized stub of the export file
+    * @param highWaterMark the update time, in seconds, to pass to the next export
+    * @param fullExport true if every device was exported
+    */
+   public ClientDeviceExport(String stub, long highWaterMark, boolean fullExport)
+   {
+      this.stub = stub;
+      this.highWaterMark = highWaterMark;
+      this.fullExport = fullExport;
+   }
+
+   /**
+    * @return A String of the CSV file in serialized format
+    */
+   public String getStub()
+   {
+      return stub;
+   }
+
+   /**
+    * @return The latest update time of the exported devices in seconds, or the requested time if no
+    *         device was exported. Devices updated at this time are exported again by the next export.
+    */
+   public long getHighWaterMark()
+   {
+      return highWaterMark;
+   }
+
+   /**
+    * @return True if every device was exported because the devices do not record their update time
+    */
+   public boolean getFullExport()
+   {
+      return fullExport;
+   }
+}
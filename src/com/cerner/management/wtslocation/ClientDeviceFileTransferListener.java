@@ -1,481 +1,1507 @@
-
-package com.cerner.management.wtslocation;
-
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
-import com.cerner.management.data.dao.DAOException;
-import com.cerner.management.exception.ManagementException;
-import com.cerner.management.file.RMIFileTransfer;
-import com.cerner.management.file.ResultFileTransferListener;
-import com.cerner.management.logging.ManagementLogger;
-import com.cerner.management.util.CSVReader;
-import com.cerner.management.wtslocation.configuration.AttributeManager;
-import com.cerner.management.wtslocation.dao.WTSLocationManagementDAO;
-
-/**
- * File transfer listener for importing client devices
- */
-public class ClientDeviceFileTransferListener implements ResultFileTransferListener
-{
-   private static final Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation");
-
-   private static final long serialVersionUID = -5448094665396654422L;
-
-   private static final String CLIENT_MNEMONIC = "CLIENTMNEMONIC";
-   private static final String MILL_ENVIRONMENT = "MILLENVIRONMENT";
-   private static final String CLIENT_NAME = "CLIENTNAME";
-   private static final String DEVICE_STATUS = "DEVICESTATUS";
-   private static final String DEFAULT_LOCATION = "DEFAULT_LOCATION";
-   private static final String DEVICE_LOCATION = "DEVICE_LOCATION";
-   private static final String LOGICAL_DOMAIN_ID = "LOGICAL_DOMAIN_ID";
-
-   private static final String UPDATED = "updated";
-   private static final String CREATED = "created";
-   private static final String IGNORED = "ignored";
-
-   private static final String DUPLICATES = "duplicates";
-   private static final String UPDATEDDEVICES = "updatedDevices";
-   private static final String CREATEDDEVICES = "createdDevices";
-   private static final String IGNOREDDEVICES = "ignoredDevices";
-
-   private static final String UPDATEDSTATUS = "Updated";
-   private static final String CREATEDSTATUS = "Created";
-   private static final String IGNOREDSTATUS = "Ignored";
-
-   private List<String> updatedList = new ArrayList<String>();
-   private List<String> createdList = new ArrayList<String>();
-   private List<String> ignoredList = new ArrayList<String>();
-   private Set<String> duplicatesSet = new HashSet<String>();
-   private List<String> updatedDevicesList = new ArrayList<>();
-   private List<String> createdDevicesList = new ArrayList<>();
-   private List<String> ignoredDevicesList = new ArrayList<>();
-
-   private WTSLocationManagementDAO dao;
-
-   private String clientMnemonic;
-   private String millEnvironment;
-
-   /**
-    * @param dao
-    * @param clientMnemonic
-    * @param millEnvironment
-    * @throws ManagementException
-    */
-   public ClientDeviceFileTransferListener(WTSLocationManagementDAO dao, String clientMnemonic, String millEnvironment)
-      throws ManagementException
-   {
-      this.clientMnemonic = clientMnemonic;
-      this.millEnvironment = millEnvironment;
-      this.dao = dao;
-   }
-
-   public void notify(File file, RMIFileTransfer fileImpl)
-   {
-      FileReader fr = null;
-      BufferedReader br = null;
-
-      try
-      {
-         fr = new FileReader(file);
-         br = new BufferedReader(fr);
-      }
-      catch (FileNotFoundException e)
-      {
-         logger.log(Level.WARNING, "Unable to find file: " + file.getName(), e);
-         return;
-      }
-
-      CSVReader reader = new CSVReader(br);
-
-      List<ClientDevice> deviceList = new ArrayList<ClientDevice>();
-      Set<ClientDevice> deviceSet = new HashSet<ClientDevice>();
-
-      try
-      {
-         // read headers
-         String[] headers = reader.readNext();
-
-         List<String> allAttributes = Arrays.asList(AttributeManager.getAttributeNames());
-
-         // make default attributes blank so we can ensure all devices have all of the
-         // attributes represented in the headers
-         Map<String, ClientDeviceAttribute> defaultAttributes = new HashMap<String, ClientDeviceAttribute>();
-         for (String header : headers)
-         {
-            if (allAttributes.contains(header.toUpperCase()))
-            {
-               defaultAttributes.put(header, new ClientDeviceAttribute(header, ""));
-            }
-         }
-
-         String[] csvLineArray = null;
-         // Read File Line By Line and create devices
-         while ((csvLineArray = reader.readNext()) != null)
-         {
-            if (!(csvLineArray.length <= headers.length))
-            {
-               logger.log(Level.WARNING,
-                  "File " + file.getName() + " has an incorrectly formatted line that will not be imported.");
-               continue;
-            }
-
-            String deviceName = null;
-            String deviceLocation = null;
-            String defaultLocation = null;
-            String mnemonic = null;
-            String env = null;
-            Long logicalDomainId = null;
-
-            Map<String, ClientDeviceAttribute> deviceAttributes = new HashMap<>(
-               defaultAttributes);
-            for (int i = 0; i < csvLineArray.length; i++)
-            {
-               String curToken = csvLineArray[i];
-               if (curToken == null)
-               {
-                  curToken = "";
-               }
-
-               String curHeader = headers[i];
-
-               if (CLIENT_MNEMONIC.equalsIgnoreCase(curHeader))
-               {
-                  mnemonic = curToken;
-               }
-               else if (MILL_ENVIRONMENT.equalsIgnoreCase(curHeader))
-               {
-                  env = curToken;
-               }
-               else if (CLIENT_NAME.equalsIgnoreCase(curHeader))
-               {
-                  deviceName = curToken.trim();
-               }
-               else if (DEFAULT_LOCATION.equalsIgnoreCase(curHeader))
-               {
-                  defaultLocation = curToken.trim();
-                  deviceAttributes.put(curHeader, new ClientDeviceAttribute(curHeader, curToken));
-               }
-               else if (DEVICE_LOCATION.equalsIgnoreCase(curHeader))
-               {
-                  deviceLocation = curToken.trim();
-                  deviceAttributes.put(curHeader, new ClientDeviceAttribute(curHeader, curToken));
-               }
-               else if (LOGICAL_DOMAIN_ID.equalsIgnoreCase(curHeader))
-               {
-                  try
-                  {
-                     logicalDomainId = Long.parseLong(curToken.trim());
-                  }
-                  catch (NumberFormatException e)
-                  {
-                     // Keep logicalDomainId set to -1
-                     curToken = "-1";
-                  }
-
-                  deviceAttributes.put(curHeader, new ClientDeviceAttribute(curHeader, curToken));
-               }
-               else if (allAttributes.contains(curHeader.toUpperCase()))
-               {
-                  deviceAttributes.put(curHeader, new ClientDeviceAttribute(curHeader, curToken));
-               }
-
-            }
-
-            // if the fields are blank, set the defaults
-            if (mnemonic == null || mnemonic.trim().length() == 0)
-            {
-               mnemonic = clientMnemonic;
-            }
-            if (env == null || env.trim().length() == 0)
-            {
-               env = millEnvironment;
-            }
-
-            String logicalDomainName = "";
-            if (logicalDomainId != null)
-            {
-               LogicalDomain ld = LogicalDomainCache.getInstance(env).getLogicalDomain(logicalDomainId);
-               logicalDomainName = (ld != null) ? ld.getLogicalDomain() : "";
-            }
-
-            if (mnemonic != null && mnemonic.toLowerCase().startsWith(clientMnemonic.toLowerCase()) && env != null
-               && env.equalsIgnoreCase(millEnvironment) && deviceName != null)
-            {
-
-               ClientDevice device = new ClientDevice(mnemonic, env, deviceName, deviceName,
-                  deviceAttributes.values().toArray(new ClientDeviceAttribute[deviceAttributes.size()]),
-                  logicalDomainName, defaultLocation, deviceLocation);
-
-               boolean added = deviceSet.add(device);
-
-               if (added)
-               {
-                  deviceList.add(device);
-               }
-               else
-               {
-                  duplicatesSet.add(createKey(device.getClientMnemonic(), device.getMillenniumEnvironment(),
-                     device.getLogicalDomain(), device.getDeviceName()));
-               }
-            }
-            else
-            {
-               ignoredList.add(createKey(mnemonic, env, logicalDomainName, deviceName));
-               ignoredDevicesList.add(createKeyForDevices(mnemonic, env, logicalDomainName, deviceName,
-                  deviceAttributes.values().toArray(new ClientDeviceAttribute[deviceAttributes.size()]),
-                  IGNOREDSTATUS));
-            }
-         }
-      }
-      catch (IOException e)
-      {
-         logger.log(Level.WARNING, "Unable to import client devices.", e);
-         return;
-      }
-      catch (ManagementException e)
-      {
-         logger.log(Level.WARNING, "Unable to import client devices.", e);
-         return;
-      }
-
-      try
-      {
-         ClientDevice[] existingDevices = dao.getClientDevices(clientMnemonic, millEnvironment);
-         List<ClientDevice> batchList = new ArrayList<ClientDevice>();
-         for (ClientDevice existingDevice : existingDevices)
-         {
-            int idx = deviceList.indexOf(existingDevice);
-            if (idx >= 0)
-            {
-               boolean same = compareDevices(existingDevice, deviceList.get(idx));
-               ClientDevice device = deviceList.get(idx);
-               deviceList.remove(idx);
-               if (!same)
-               {
-                  batchList.add(device);
-
-                  updatedList.add(createKey(device.getClientMnemonic(), device.getMillenniumEnvironment(),
-                     device.getLogicalDomain(), device.getDeviceName()));
-                  updatedDevicesList.add(createKeyForDevices(device.getClientMnemonic(),
-                     device.getMillenniumEnvironment(), device.getLogicalDomain(), device.getDeviceName(),
-                     device.getDeviceAttributes(), UPDATEDSTATUS));
-
-               }
-               else
-               {
-                  ignoredList.add(createKey(device.getClientMnemonic(), device.getMillenniumEnvironment(),
-                     device.getLogicalDomain(), device.getDeviceName()));
-                  ignoredDevicesList.add(createKeyForDevices(device.getClientMnemonic(),
-                     device.getMillenniumEnvironment(), device.getLogicalDomain(), device.getDeviceName(),
-                     device.getDeviceAttributes(), IGNOREDSTATUS));
-
-               }
-            }
-         }
-
-         // only update if updates were found
-         if (batchList.size() > 0)
-         {
-            try
-            {
-               dao.batchUpdateClientDevices(batchList.toArray(new ClientDevice[batchList.size()]), clientMnemonic);
-            }
-            catch (ManagementException e)
-            {
-               logger.log(Level.WARNING, "Unable to update client devices into primary datastore during import.", e);
-            }
-         }
-
-         // add new devices
-         for (ClientDevice device : deviceList)
-         {
-
-            createdList.add(createKey(device.getClientMnemonic(), device.getMillenniumEnvironment(),
-               device.getLogicalDomain(), device.getDeviceName()));
-            createdDevicesList.add(createKeyForDevices(device.getClientMnemonic(), device.getMillenniumEnvironment(),
-               device.getLogicalDomain(), device.getDeviceName(), device.getDeviceAttributes(), CREATEDSTATUS));
-         }
-
-         // add new devices
-         if (createdList.size() > 0)
-         {
-            try
-            {
-               dao.batchAddClientDevices(deviceList.toArray(new ClientDevice[deviceList.size()]), clientMnemonic,
-                  millEnvironment);
-            }
-            catch (ManagementException e)
-            {
-               logger.log(Level.WARNING, "Unable to add client devices during import.", e);
-            }
-         }
-
-      }
-      catch (DAOException e)
-      // the rest are ignored
-      {
-         logger.log(Level.WARNING, "Unable to retrieve existing client devices for import comparison.", e);
-      }
-
-   }
-
-   private boolean compareDevices(ClientDevice existing, ClientDevice update)
-   {
-      Map<String, String> map = new HashMap<String, String>();
-
-      for (ClientDeviceAttribute attr : existing.getDeviceAttributes())
-      {
-         map.put(attr.getName().toLowerCase(), attr.getValue());
-      }
-
-      boolean compare = true;
-      for (ClientDeviceAttribute attr : update.getDeviceAttributes())
-      {
-         compare = compare && map.containsKey(attr.getName().toLowerCase())
-            && (map.get(attr.getName().toLowerCase()) == null ? attr.getValue() == null
-               : map.get(attr.getName().toLowerCase()).equalsIgnoreCase(attr.getValue()));
-
-         if (!compare)
-         {
-            return false;
-         }
-      }
-
-      compare = compare && ((existing.getDefaultLocation() != null && update.getDefaultLocation() != null
-         && existing.getDefaultLocation().equalsIgnoreCase(update.getDefaultLocation()))
-         || (existing.getDefaultLocation() == null && update.getDefaultLocation() == null));
-
-      compare = compare && ((existing.getDeviceLocation() != null && update.getDeviceLocation() != null
-         && existing.getDeviceLocation().equalsIgnoreCase(update.getDeviceLocation()))
-         || (existing.getDeviceLocation() == null && update.getDeviceLocation() == null));
-
-      return compare;
-   }
-
-   private String createKeyForDevices(String mnemonic, String env, String logicalDomain, String device,
-      ClientDeviceAttribute[] clientDeviceAttributes, String deviceStatus)
-   {
-      StringBuffer buffer = new StringBuffer();
-      if (mnemonic != null)
-      {
-         if (logicalDomain != null)
-         {
-            mnemonic = mnemonic.substring(0, mnemonic.lastIndexOf("_"));
-         }
-         buffer.append(CLIENT_MNEMONIC);
-         buffer.append("::");
-         buffer.append(mnemonic.toUpperCase());
-      }
-
-      buffer.append("::");
-
-      if (env != null)
-      {
-         buffer.append(MILL_ENVIRONMENT);
-         buffer.append("::");
-         buffer.append(env.toUpperCase());
-      }
-
-      buffer.append("::");
-
-      if (logicalDomain != null)
-      {
-         buffer.append(LOGICAL_DOMAIN_ID);
-         buffer.append("::");
-         buffer.append(logicalDomain.toUpperCase());
-      }
-
-      buffer.append("::");
-
-      if (device != null)
-      {
-         buffer.append(CLIENT_NAME);
-         buffer.append("::");
-         buffer.append(device.toLowerCase());
-      }
-      buffer.append("::");
-      buffer.append(DEVICE_STATUS);
-      buffer.append("::");
-      buffer.append(deviceStatus);
-      buffer.append("::");
-
-      for (int i = 0; i < clientDeviceAttributes.length; i++)
-      {
-         buffer.append(clientDeviceAttributes[i].getName());
-         buffer.append("::");
-         buffer.append(clientDeviceAttributes[i].getValue());
-         if (i != clientDeviceAttributes.length - 1)
-         {
-            buffer.append("::");
-         }
-      }
-
-      return buffer.toString();
-   }
-
-   private String createKey(String mnemonic, String env, String logicalDomain, String device)
-   {
-      StringBuffer buffer = new StringBuffer();
-
-      if (mnemonic != null)
-      {
-         if (logicalDomain != null)
-         {
-            mnemonic = mnemonic.substring(0, mnemonic.lastIndexOf("_"));
-         }
-
-         buffer.append(mnemonic.toUpperCase());
-      }
-
-      buffer.append("::");
-
-      if (env != null)
-      {
-         buffer.append(env.toUpperCase());
-      }
-
-      buffer.append("::");
-
-      if (logicalDomain != null)
-      {
-         buffer.append(logicalDomain.toUpperCase());
-      }
-
-      buffer.append("::");
-
-      if (device != null)
-      {
-         buffer.append(device.toLowerCase());
-      }
-
-      return buffer.toString();
-   }
-
-   public Map<String, Object> result()
-   {
-      Map<String, Object> result = new HashMap<String, Object>();
-
-      result.put(UPDATED, updatedList.toArray(new String[updatedList.size()]));
-      result.put(CREATED, createdList.toArray(new String[createdList.size()]));
-      result.put(IGNORED, ignoredList.toArray(new String[ignoredList.size()]));
-      result.put(DUPLICATES, duplicatesSet.toArray(new String[duplicatesSet.size()]));
-      result.put(CREATEDDEVICES, createdDevicesList.toArray(new String[createdDevicesList.size()]));
-      result.put(UPDATEDDEVICES, updatedDevicesList.toArray(new String[updatedDevicesList.size()]));
-      result.put(IGNOREDDEVICES, ignoredDevicesList.toArray(new String[ignoredDevicesList.size()]));
-
-      return result;
-   }
-}
+
+package com.cerner.management.wtslocation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+import com.cerner.management.data.dao.DAOException;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.file.RMIFileTransfer;
+import com.cerner.management.file.ResultFileTransferListener;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.util.CSVReader;
+import com.cerner.management.wtslocation.configuration.AttributeManager;
+import com.cerner.management.wtslocation.dao.ClientDeviceFingerprint;
+import com.cerner.management.wtslocation.dao.WTSLocationManagementDAO;
+
+/**
+ * File transfer listener for importing client devices. The file is read in chunks of rows, and each
+ * chunk is compared with the existing devices of the same names and written before the next one is
+ * imported, so the devices of the whole file are never held at once.
+ */
+public class ClientDeviceFileTransferListener implements ResultFileTransferListener
+{
+   private static final Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation");
+
+   private static final long serialVersionUID = -5448094665396654422L;
+
+   private static final String CLIENT_MNEMONIC = "CLIENTMNEMONIC";
+   private static final String MILL_ENVIRONMENT = "MILLENVIRONMENT";
+   private static final String CLIENT_NAME = "CLIENTNAME";
+   private static final String DEVICE_STATUS = "DEVICESTATUS";
+   private static final String DEFAULT_LOCATION = "DEFAULT_LOCATION";
+   private static final String DEVICE_LOCATION = "DEVICE_LOCATION";
+   private static final String LOGICAL_DOMAIN_ID = "LOGICAL_DOMAIN_ID";
+
+   /**
+    * The keys of the result: the number of devices of each kind, the path of the report and the id of
+    * the import
+    */
+   public static final String UPDATED_COUNT = "updatedCount";
+   public static final String CREATED_COUNT = "createdCount";
+   public static final String IGNORED_COUNT = "ignoredCount";
+   public static final String DUPLICATES_COUNT = "duplicatesCount";
+   public static final String REPORT = "report";
+   public static final String JOB_ID = "jobId";
+
+   /**
+    * The key of the first created and updated devices in the result
+    */
+   public static final String SAMPLE = "sample";
+
+   private static final String UPDATEDSTATUS = "Updated";
+   private static final String CREATEDSTATUS = "Created";
+   private static final String IGNOREDSTATUS = "Ignored";
+   private static final String DUPLICATESTATUS = "Duplicate";
+
+   /**
+    * The number of rows in a chunk of the import and the number of parsed chunks that may wait for
+    * the database
+    */
+   private static final int IMPORT_CHUNK_SIZE = 1000;
+   private static final String IMPORT_CHUNK_SIZE_PROPERTY = "com.cerner.management.wtslocation.import.chunk.size";
+   private static final int IMPORT_BUFFER_CHUNKS = 2;
+
+   // an empty chunk marks the end of the file
+   private static final ImportChunk END_OF_FILE = new ImportChunk();
+
+   private final int importChunkSize = Math.max(1, Integer.getInteger(IMPORT_CHUNK_SIZE_PROPERTY, IMPORT_CHUNK_SIZE));
+
+   /**
+    * Whether unchanged devices are recognized by fingerprint instead of reading their rows
+    */
+   private final boolean importFingerprints = Boolean.parseBoolean(System.getProperty(IMPORT_FINGERPRINTS_PROPERTY,
+      "true"));
+
+   private static final String IMPORT_FINGERPRINTS_PROPERTY = "com.cerner.management.wtslocation.import.fingerprints";
+
+   /**
+    * Whether the new and changed devices of a fingerprinted chunk are written with one merge statement
+    * per device instead of reading the changed rows and then updating and adding the devices apart
+    */
+   private final boolean importMerge = Boolean.getBoolean(IMPORT_MERGE_PROPERTY);
+
+   private static final String IMPORT_MERGE_PROPERTY = "com.cerner.management.wtslocation.import.merge";
+
+   /**
+    * Whether the rows of the file are parsed in blocks on the import pool instead of one after the
+    * other, and the number of threads of the pool
+    */
+   private final boolean importParallel = Boolean.getBoolean(IMPORT_PARALLEL_PROPERTY);
+
+   private static final String IMPORT_PARALLEL_PROPERTY = "com.cerner.management.wtslocation.import.parallel";
+   private static final String IMPORT_PARALLELISM_PROPERTY = "com.cerner.management.wtslocation.import.parallelism";
+
+   /**
+    * Whether uncompressed files are read from a memory mapping instead of through a reader, off by
+    * default. The mapping is released when the file has been parsed, except on a JVM that does not
+    * allow it, where the file stays locked on Windows until the mapping is collected.
+    */
+   private final boolean importMapped = Boolean.getBoolean(IMPORT_MAPPED_PROPERTY);
+
+   private static final String IMPORT_MAPPED_PROPERTY = "com.cerner.management.wtslocation.import.mapped";
+
+   /**
+    * The number of created and updated devices the result lists, the whole list is in the report
+    */
+   private final int importSampleSize = Math.max(0, Integer.getInteger(IMPORT_SAMPLE_SIZE_PROPERTY, 100));
+
+   private static final String IMPORT_SAMPLE_SIZE_PROPERTY = "com.cerner.management.wtslocation.import.sample.size";
+
+   private static final ForkJoinPool IMPORT_POOL = new ForkJoinPool(Math.max(1, Integer.getInteger(
+      IMPORT_PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors())));
+
+   // how a device of a chunk compares with the stored devices
+   private static final int DEVICE_CHANGED = 0;
+   private static final int DEVICE_UNCHANGED = 1;
+   private static final int DEVICE_NEW = 2;
+
+   private int updatedCount = 0;
+   private int createdCount = 0;
+   private int ignoredCount = 0;
+   private Set<String> duplicatesSet = new HashSet<String>();
+   private List<String> sample = new ArrayList<String>();
+
+   // every device of the import, written to the report as it is imported
+   private ClientDeviceImportReport report = null;
+
+   private WTSLocationManagementDAO dao;
+
+   private String clientMnemonic;
+   private String millEnvironment;
+
+   private final ClientDeviceImportProgress progress;
+
+   /**
+    * @param dao
+    * @param clientMnemonic
+    * @param millEnvironment
+    * @throws ManagementException
+    */
+   public ClientDeviceFileTransferListener(WTSLocationManagementDAO dao, String clientMnemonic, String millEnvironment)
+      throws ManagementException
+   {
+      this(dao, clientMnemonic, millEnvironment, new ClientDeviceImportProgress(null));
+   }
+
+   /**
+    * @param dao
+    * @param clientMnemonic
+    * @param millEnvironment
+    * @param progress the progress of the import, updated as the file is imported
+    * @throws ManagementException
+    */
+   public ClientDeviceFileTransferListener(WTSLocationManagementDAO dao, String clientMnemonic,
+      String millEnvironment, ClientDeviceImportProgress progress) throws ManagementException
+   {
+      this.clientMnemonic = clientMnemonic;
+      this.millEnvironment = millEnvironment;
+      this.dao = dao;
+      this.progress = progress;
+   }
+
+   public void notify(File file, RMIFileTransfer fileImpl)
+   {
+      if (progress.isCancelled())
+      {
+         progress.finish(result());
+         return;
+      }
+
+      progress.start();
+      try
+      {
+         report = new ClientDeviceImportReport();
+         progress.setReport(report.getFile());
+      }
+      catch (IOException e)
+      {
+         logger.log(Level.WARNING, "Unable to create the import report, the devices are not reported.", e);
+      }
+
+      try
+      {
+         importFile(file);
+      }
+      finally
+      {
+         closeReport();
+         progress.finish(result());
+      }
+   }
+
+   private void importFile(File file)
+   {
+      final ClientDeviceCsvMappedReader mapped;
+      final BufferedReader br;
+
+      try
+      {
+         mapped = importMapped ? ClientDeviceCsvMappedReader.open(file) : null;
+         br = mapped == null ? new BufferedReader(new InputStreamReader(openImportFile(file),
+            StandardCharsets.UTF_8)) : null;
+      }
+      catch (FileNotFoundException e)
+      {
+         logger.log(Level.WARNING, "Unable to find file: " + file.getName(), e);
+         progress.fail("Unable to find file: " + file.getName());
+         return;
+      }
+      catch (IOException e)
+      {
+         logger.log(Level.WARNING, "Unable to read file: " + file.getName(), e);
+         progress.fail("Unable to read file: " + file.getName());
+         return;
+      }
+
+      // the file is parsed on another thread, at most a few chunks ahead of the database writes
+      final String fileName = file.getName();
+      final BlockingQueue<ImportChunk> chunks = new ArrayBlockingQueue<ImportChunk>(IMPORT_BUFFER_CHUNKS);
+      final AtomicBoolean stopped = new AtomicBoolean(false);
+      Thread parser = new Thread(new Runnable()
+      {
+         public void run()
+         {
+            parse(mapped, br, fileName, chunks, stopped);
+         }
+      }, "WTSLocationImport-" + millEnvironment);
+      parser.setDaemon(true);
+      parser.start();
+
+      boolean completed = false;
+      try
+      {
+         ImportChunk chunk;
+         while ((chunk = chunks.take()) != END_OF_FILE)
+         {
+            // a cancelled import stops between chunks, the chunks already imported are kept
+            if (progress.isCancelled())
+            {
+               logger.log(Level.INFO, "The import of file " + fileName + " was cancelled.");
+               break;
+            }
+            importChunk(chunk);
+         }
+         completed = chunk == END_OF_FILE;
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         logger.log(Level.WARNING, "Interrupted while importing client devices from file: " + fileName, e);
+         progress.fail("Interrupted while importing client devices from file: " + fileName);
+      }
+      catch (DAOException e)
+      // the rest are ignored
+      {
+         logger.log(Level.WARNING, "Unable to retrieve existing client devices for import comparison.", e);
+         progress.fail("Unable to retrieve existing client devices for import comparison.");
+      }
+      finally
+      {
+         if (!completed)
+         {
+            // stop the parser, it may be waiting for room in the buffer
+            stopped.set(true);
+            parser.interrupt();
+         }
+      }
+   }
+
+   /**
+    * Parses and validates the devices of the file and passes them on in chunks. Devices that do not
+    * belong to the environment and repeated devices are recorded in the chunk they were read in.
+    *
+    * @param mapped the mapped file, or null to read the file from the reader
+    */
+   private void parse(ClientDeviceCsvMappedReader mapped, BufferedReader br, String fileName,
+      BlockingQueue<ImportChunk> chunks, AtomicBoolean stopped)
+   {
+      // the keys of the devices read so far, to find the duplicates
+      Set<DeviceKey> deviceKeys = new HashSet<DeviceKey>();
+      ImportChunk chunk = new ImportChunk();
+
+      try
+      {
+         if (mapped != null && importParallel)
+         {
+            chunk = parseMappedParallel(mapped, fileName, chunks, deviceKeys, chunk);
+         }
+         else if (mapped != null)
+         {
+            chunk = parseMapped(mapped, fileName, chunks, deviceKeys, chunk);
+         }
+         else if (importParallel)
+         {
+            chunk = parseParallel(br, fileName, chunks, deviceKeys, chunk);
+         }
+         else
+         {
+            chunk = parseSequential(br, fileName, chunks, deviceKeys, chunk);
+         }
+
+         putChunk(chunk, chunks);
+      }
+      catch (IOException e)
+      {
+         logger.log(Level.WARNING, "Unable to import client devices.", e);
+         progress.fail("Unable to import client devices: " + e.getMessage());
+      }
+      catch (ManagementException e)
+      {
+         logger.log(Level.WARNING, "Unable to import client devices.", e);
+         progress.fail("Unable to import client devices: " + e.getMessage());
+      }
+      catch (RuntimeException e)
+      {
+         logger.log(Level.WARNING, "Unable to import client devices.", e);
+         progress.fail("Unable to import client devices: " + e);
+      }
+      catch (InterruptedException e)
+      {
+         logger.log(Level.FINE, "The import was stopped before the whole file was read: " + fileName);
+      }
+      finally
+      {
+         if (mapped != null)
+         {
+            // the blocks still being read finish first, the file can be deleted afterwards
+            mapped.close();
+         }
+         if (br != null)
+         {
+            try
+            {
+               br.close();
+            }
+            catch (IOException e)
+            {
+               logger.log(Level.FINE, "Unable to close file: " + fileName, e);
+            }
+         }
+
+         // the importer waits for the end of the file unless it has already stopped
+         if (!stopped.get())
+         {
+            try
+            {
+               chunks.put(END_OF_FILE);
+            }
+            catch (InterruptedException e)
+            {
+               logger.log(Level.FINE, "The import was stopped before the whole file was read: " + fileName);
+            }
+         }
+      }
+   }
+
+   /**
+    * Parses the rows one after the other on the calling thread.
+    *
+    * @return the chunk being filled
+    */
+   private ImportChunk parseSequential(BufferedReader br, String fileName, BlockingQueue<ImportChunk> chunks,
+      Set<DeviceKey> deviceKeys, ImportChunk chunk) throws IOException, ManagementException, InterruptedException
+   {
+      CSVReader reader = new CSVReader(br);
+
+      // read headers
+      String[] headers = reader.readNext();
+      if (headers == null)
+      {
+         return chunk;
+      }
+      ImportColumns columns = new ImportColumns(headers);
+
+      String[] csvLineArray = null;
+      // Read File Line By Line and create devices
+      while ((csvLineArray = reader.readNext()) != null)
+      {
+         ImportRow row = parseRow(csvLineArray, csvLineArray.length, columns, fileName);
+         if (row != null)
+         {
+            chunk = addRow(row, chunk, deviceKeys, chunks);
+         }
+      }
+      return chunk;
+   }
+
+   /**
+    * Parses the rows of the mapped file one after the other on the calling thread, decoding only the
+    * columns that are imported.
+    *
+    * @return the chunk being filled
+    */
+   private ImportChunk parseMapped(ClientDeviceCsvMappedReader mapped, String fileName,
+      BlockingQueue<ImportChunk> chunks, Set<DeviceKey> deviceKeys, ImportChunk chunk) throws ManagementException,
+      InterruptedException
+   {
+      ImportColumns columns = readColumns(mapped);
+      if (columns == null)
+      {
+         return chunk;
+      }
+
+      String[] values = new String[columns.slots.length];
+      int count;
+      while ((count = mapped.readRecord(values, columns.decode)) >= 0)
+      {
+         ImportRow row = parseRow(values, count, columns, fileName);
+         if (row != null)
+         {
+            chunk = addRow(row, chunk, deviceKeys, chunks);
+         }
+      }
+      return chunk;
+   }
+
+   /**
+    * Splits the file into blocks of whole rows that are parsed on the import pool. The blocks are
+    * added to the chunks in the order of the file, so the first of repeated devices is imported, and
+    * only a few more blocks than the pool has threads are parsed ahead.
+    *
+    * @return the chunk being filled
+    */
+   private ImportChunk parseParallel(BufferedReader br, final String fileName, BlockingQueue<ImportChunk> chunks,
+      Set<DeviceKey> deviceKeys, ImportChunk chunk) throws IOException, ManagementException, InterruptedException
+   {
+      ClientDeviceCsvBlockReader blocks = new ClientDeviceCsvBlockReader(br);
+
+      String header = blocks.nextBlock(1);
+      if (header == null)
+      {
+         return chunk;
+      }
+      final ImportColumns columns = new ImportColumns(ClientDeviceCsvBlockReader.parseRecords(header).get(0));
+
+      Deque<ForkJoinTask<List<ImportRow>>> pending = new ArrayDeque<ForkJoinTask<List<ImportRow>>>();
+      try
+      {
+         String block;
+         while ((block = blocks.nextBlock(importChunkSize)) != null)
+         {
+            final String records = block;
+            chunk = submitBlock(new Callable<List<ImportRow>>()
+            {
+               public List<ImportRow> call() throws ManagementException
+               {
+                  List<ImportRow> rows = new ArrayList<ImportRow>();
+                  for (String[] csvLineArray : ClientDeviceCsvBlockReader.parseRecords(records))
+                  {
+                     ImportRow row = parseRow(csvLineArray, csvLineArray.length, columns, fileName);
+                     if (row != null)
+                     {
+                        rows.add(row);
+                     }
+                  }
+                  return rows;
+               }
+            }, pending, chunk, deviceKeys, chunks);
+         }
+
+         while (!pending.isEmpty())
+         {
+            chunk = addRows(pending.poll(), chunk, deviceKeys, chunks);
+         }
+      }
+      finally
+      {
+         cancelBlocks(pending);
+      }
+      return chunk;
+   }
+
+   /**
+    * Splits the mapped file into blocks of whole rows that are parsed on the import pool, like
+    * {@link #parseParallel(BufferedReader, String, BlockingQueue, Set, ImportChunk)}. The blocks
+    * share the mapping, so splitting the file copies nothing.
+    *
+    * @return the chunk being filled
+    */
+   private ImportChunk parseMappedParallel(final ClientDeviceCsvMappedReader mapped, final String fileName,
+      BlockingQueue<ImportChunk> chunks, Set<DeviceKey> deviceKeys, ImportChunk chunk) throws ManagementException,
+      InterruptedException
+   {
+      final ImportColumns columns = readColumns(mapped);
+      if (columns == null)
+      {
+         return chunk;
+      }
+
+      Deque<ForkJoinTask<List<ImportRow>>> pending = new ArrayDeque<ForkJoinTask<List<ImportRow>>>();
+      try
+      {
+         ByteBuffer block;
+         while ((block = mapped.nextBlock(importChunkSize)) != null)
+         {
+            final ClientDeviceCsvMappedReader records = new ClientDeviceCsvMappedReader(block);
+            chunk = submitBlock(new Callable<List<ImportRow>>()
+            {
+               public List<ImportRow> call() throws ManagementException
+               {
+                  List<ImportRow> rows = new ArrayList<ImportRow>();
+                  if (!mapped.acquireBlock())
+                  {
+                     // the parse has stopped and the mapping is released
+                     return rows;
+                  }
+                  try
+                  {
+                     String[] values = new String[columns.slots.length];
+                     int count;
+                     while ((count = records.readRecord(values, columns.decode)) >= 0)
+                     {
+                        ImportRow row = parseRow(values, count, columns, fileName);
+                        if (row != null)
+                        {
+                           rows.add(row);
+                        }
+                     }
+                  }
+                  finally
+                  {
+                     mapped.releaseBlock();
+                  }
+                  return rows;
+               }
+            }, pending, chunk, deviceKeys, chunks);
+         }
+
+         while (!pending.isEmpty())
+         {
+            chunk = addRows(pending.poll(), chunk, deviceKeys, chunks);
+         }
+      }
+      finally
+      {
+         cancelBlocks(pending);
+      }
+      return chunk;
+   }
+
+   /**
+    * Reads the headers of the mapped file.
+    *
+    * @return the columns or null if the file is empty
+    */
+   private ImportColumns readColumns(ClientDeviceCsvMappedReader mapped) throws ManagementException
+   {
+      String[] headers = mapped.readRecord();
+      if (headers == null)
+      {
+         return null;
+      }
+      return new ImportColumns(headers);
+   }
+
+   /**
+    * Submits a block to the import pool, then adds the oldest block to the chunks once more blocks
+    * than the pool has threads are pending.
+    *
+    * @return the chunk being filled
+    */
+   private ImportChunk submitBlock(Callable<List<ImportRow>> block, Deque<ForkJoinTask<List<ImportRow>>> pending,
+      ImportChunk chunk, Set<DeviceKey> deviceKeys, BlockingQueue<ImportChunk> chunks) throws ManagementException,
+      InterruptedException
+   {
+      pending.add(IMPORT_POOL.submit(block));
+      if (pending.size() > IMPORT_POOL.getParallelism())
+      {
+         chunk = addRows(pending.poll(), chunk, deviceKeys, chunks);
+      }
+      return chunk;
+   }
+
+   private void cancelBlocks(Deque<ForkJoinTask<List<ImportRow>>> pending)
+   {
+      for (ForkJoinTask<List<ImportRow>> task : pending)
+      {
+         task.cancel(true);
+      }
+   }
+
+   private ImportChunk addRows(ForkJoinTask<List<ImportRow>> task, ImportChunk chunk, Set<DeviceKey> deviceKeys,
+      BlockingQueue<ImportChunk> chunks) throws ManagementException, InterruptedException
+   {
+      List<ImportRow> rows;
+      try
+      {
+         rows = task.get();
+      }
+      catch (ExecutionException e)
+      {
+         Throwable cause = e.getCause();
+         if (cause instanceof ManagementException)
+         {
+            throw (ManagementException) cause;
+         }
+         if (cause instanceof RuntimeException)
+         {
+            throw (RuntimeException) cause;
+         }
+         throw new ManagementException("Unable to parse the client devices.", cause);
+      }
+
+      for (ImportRow row : rows)
+      {
+         chunk = addRow(row, chunk, deviceKeys, chunks);
+      }
+      return chunk;
+   }
+
+   /**
+    * Adds a parsed row to the chunk, or records the device as a duplicate if it was already read, and
+    * passes the chunk on once it is full.
+    *
+    * @return the chunk to add the next row to
+    */
+   private ImportChunk addRow(ImportRow row, ImportChunk chunk, Set<DeviceKey> deviceKeys,
+      BlockingQueue<ImportChunk> chunks) throws InterruptedException
+   {
+      if (row.device == null)
+      {
+         chunk.ignoredDevices.add(row.ignoredDevice);
+      }
+      else if (deviceKeys.add(row.key))
+      {
+         chunk.devices.add(row.device);
+         chunk.keys.add(row.key);
+      }
+      else
+      {
+         chunk.duplicates.add(row.device);
+      }
+
+      if (++chunk.rows >= importChunkSize)
+      {
+         putChunk(chunk, chunks);
+         return new ImportChunk();
+      }
+      return chunk;
+   }
+
+   private void putChunk(ImportChunk chunk, BlockingQueue<ImportChunk> chunks) throws InterruptedException
+   {
+      progress.addRowsParsed(chunk.rows);
+      chunks.put(chunk);
+   }
+
+   /**
+    * Creates the device of a row, or records why it is not imported. This does not depend on the
+    * other rows, so rows can be parsed on any thread.
+    *
+    * @param csvLineArray the values of the row, only the first count are read
+    * @param count the number of values of the row
+    * @return the row or null if the line is incorrectly formatted
+    */
+   private ImportRow parseRow(String[] csvLineArray, int count, ImportColumns columns, String fileName)
+      throws ManagementException
+   {
+      if (!(count <= columns.slots.length))
+      {
+         logger.log(Level.WARNING, "File " + fileName + " has an incorrectly formatted line that will not be imported.");
+         return null;
+      }
+
+      String deviceName = null;
+      String deviceLocation = null;
+      String defaultLocation = null;
+      String mnemonic = null;
+      String env = null;
+      Long logicalDomainId = null;
+
+      // make default attributes blank so we can ensure all devices have all of the
+      // attributes represented in the headers
+      ClientDeviceAttribute[] attributes = columns.defaultAttributes.clone();
+      for (int i = 0; i < count; i++)
+      {
+         String curToken = csvLineArray[i];
+         if (curToken == null)
+         {
+            curToken = "";
+         }
+
+         switch (columns.slots[i])
+         {
+            case ImportColumns.SLOT_CLIENT_MNEMONIC:
+               mnemonic = curToken;
+               break;
+            case ImportColumns.SLOT_MILL_ENVIRONMENT:
+               env = curToken;
+               break;
+            case ImportColumns.SLOT_CLIENT_NAME:
+               deviceName = curToken.trim();
+               break;
+            case ImportColumns.SLOT_DEFAULT_LOCATION:
+               defaultLocation = curToken.trim();
+               break;
+            case ImportColumns.SLOT_DEVICE_LOCATION:
+               deviceLocation = curToken.trim();
+               break;
+            case ImportColumns.SLOT_LOGICAL_DOMAIN_ID:
+               try
+               {
+                  logicalDomainId = Long.parseLong(curToken.trim());
+               }
+               catch (NumberFormatException e)
+               {
+                  // Keep logicalDomainId set to -1
+                  curToken = "-1";
+               }
+               break;
+            default:
+               break;
+         }
+
+         int attributeIndex = columns.attributeIndexes[i];
+         if (attributeIndex >= 0)
+         {
+            attributes[attributeIndex] = new ClientDeviceAttribute(columns.headers[i], curToken);
+         }
+      }
+
+      List<ClientDeviceAttribute> deviceAttributes = new ArrayList<ClientDeviceAttribute>(attributes.length);
+      for (ClientDeviceAttribute attribute : attributes)
+      {
+         if (attribute != null)
+         {
+            deviceAttributes.add(attribute);
+         }
+      }
+      ClientDeviceAttribute[] attributeArray = deviceAttributes.toArray(new ClientDeviceAttribute[deviceAttributes
+         .size()]);
+
+      // if the fields are blank, set the defaults
+      if (mnemonic == null || mnemonic.trim().length() == 0)
+      {
+         mnemonic = clientMnemonic;
+      }
+      if (env == null || env.trim().length() == 0)
+      {
+         env = millEnvironment;
+      }
+
+      String logicalDomainName = "";
+      if (logicalDomainId != null)
+      {
+         LogicalDomain ld = LogicalDomainCache.getInstance(env).getLogicalDomain(logicalDomainId);
+         logicalDomainName = (ld != null) ? ld.getLogicalDomain() : "";
+      }
+
+      ImportRow row = new ImportRow();
+      if (mnemonic != null && mnemonic.toLowerCase().startsWith(clientMnemonic.toLowerCase()) && env != null
+         && env.equalsIgnoreCase(millEnvironment) && deviceName != null)
+      {
+         row.device = new ClientDevice(mnemonic, env, deviceName, deviceName, attributeArray, logicalDomainName,
+            defaultLocation, deviceLocation);
+         row.key = new DeviceKey(row.device);
+      }
+      else
+      {
+         row.ignoredDevice = createKeyForDevices(mnemonic, env, logicalDomainName, deviceName, attributeArray,
+            IGNOREDSTATUS);
+      }
+      return row;
+   }
+
+   /**
+    * Compares the devices of a chunk with the existing devices of the same names, then updates the
+    * changed devices and adds the new ones. A dry run only reports the devices.
+    */
+   private void importChunk(ImportChunk chunk) throws DAOException
+   {
+      for (String ignoredDevice : chunk.ignoredDevices)
+      {
+         ignoredCount++;
+         writeReport(ignoredDevice);
+      }
+      for (ClientDevice duplicate : chunk.duplicates)
+      {
+         // a device repeated several times is reported once
+         if (duplicatesSet.add(createKey(duplicate.getClientMnemonic(), duplicate.getMillenniumEnvironment(),
+            duplicate.getLogicalDomain(), duplicate.getDeviceName())))
+         {
+            writeReport(createKeyForDevices(duplicate.getClientMnemonic(), duplicate.getMillenniumEnvironment(),
+               duplicate.getLogicalDomain(), duplicate.getDeviceName(), duplicate.getDeviceAttributes(),
+               DUPLICATESTATUS));
+         }
+      }
+
+      if (chunk.devices.isEmpty())
+      {
+         progress.addRowsDiffed(chunk.rows);
+         return;
+      }
+
+      Set<String> names = new LinkedHashSet<String>();
+      for (ClientDevice device : chunk.devices)
+      {
+         names.add(device.getDeviceName().toLowerCase());
+      }
+
+      // devices whose stored fingerprint matches their own are unchanged and their rows are not read
+      Map<DeviceKey, String> storedFingerprints = null;
+      String[] attributeNames = getFingerprintAttributes(chunk);
+      if (attributeNames != null)
+      {
+         try
+         {
+            ClientDeviceFingerprint[] fingerprints = dao.getClientDeviceFingerprints(
+               names.toArray(new String[names.size()]), attributeNames, clientMnemonic, millEnvironment);
+            storedFingerprints = new HashMap<DeviceKey, String>(fingerprints.length * 4 / 3 + 1);
+            for (ClientDeviceFingerprint fingerprint : fingerprints)
+            {
+               storedFingerprints.put(new DeviceKey(fingerprint.getDeviceName(), fingerprint.getClientMnemonic(),
+                  fingerprint.getMillenniumEnvironment(), fingerprint.getLogicalDomain()), fingerprint.getFingerprint());
+            }
+         }
+         catch (DAOException e)
+         {
+            logger.log(Level.FINE, "Unable to retrieve device fingerprints, the devices are compared in full.", e);
+         }
+      }
+
+      int[] states = new int[chunk.devices.size()];
+      Set<String> changedNames = new LinkedHashSet<String>();
+      for (int i = 0; i < chunk.devices.size(); i++)
+      {
+         ClientDevice device = chunk.devices.get(i);
+         if (storedFingerprints == null)
+         {
+            states[i] = DEVICE_CHANGED;
+         }
+         else if (!storedFingerprints.containsKey(chunk.keys.get(i)))
+         {
+            states[i] = DEVICE_NEW;
+         }
+         else if (dao.getClientDeviceFingerprint(device, attributeNames).equals(
+            storedFingerprints.get(chunk.keys.get(i))))
+         {
+            states[i] = DEVICE_UNCHANGED;
+         }
+         else
+         {
+            states[i] = DEVICE_CHANGED;
+         }
+
+         if (states[i] == DEVICE_CHANGED)
+         {
+            changedNames.add(device.getDeviceName().toLowerCase());
+         }
+      }
+
+      // a dry run takes the same path as the import it previews
+      if (importMerge && storedFingerprints != null)
+      {
+         progress.addRowsDiffed(chunk.rows);
+         mergeChunk(chunk, states, attributeNames);
+         return;
+      }
+
+      Map<DeviceKey, ClientDevice> existingDevices = new HashMap<DeviceKey, ClientDevice>();
+      if (!changedNames.isEmpty())
+      {
+         for (ClientDevice existingDevice : dao.getMatchingClientDevices(
+            changedNames.toArray(new String[changedNames.size()]), clientMnemonic, millEnvironment))
+         {
+            existingDevices.put(new DeviceKey(existingDevice), existingDevice);
+         }
+      }
+
+      List<ClientDevice> batchList = new ArrayList<ClientDevice>();
+      List<ClientDevice> newList = new ArrayList<ClientDevice>();
+      for (int i = 0; i < chunk.devices.size(); i++)
+      {
+         ClientDevice device = chunk.devices.get(i);
+         ClientDevice existingDevice = existingDevices.get(chunk.keys.get(i));
+         if (states[i] == DEVICE_NEW || (states[i] == DEVICE_CHANGED && existingDevice == null))
+         {
+            newList.add(device);
+            report(device, CREATEDSTATUS);
+         }
+         else if (states[i] == DEVICE_CHANGED && !compareDevices(existingDevice, device))
+         {
+            batchList.add(device);
+            report(device, UPDATEDSTATUS);
+         }
+         else
+         {
+            report(device, IGNOREDSTATUS);
+         }
+      }
+
+      progress.addRowsDiffed(chunk.rows);
+
+      if (progress.isDryRun())
+      {
+         return;
+      }
+
+      // only update if updates were found
+      if (batchList.size() > 0)
+      {
+         try
+         {
+            dao.batchUpdateClientDevices(batchList.toArray(new ClientDevice[batchList.size()]), clientMnemonic);
+            progress.addRowsWritten(batchList.size());
+         }
+         catch (ManagementException e)
+         {
+            logger.log(Level.WARNING, "Unable to update client devices into primary datastore during import.", e);
+         }
+      }
+
+      // add new devices
+      if (newList.size() > 0)
+      {
+         try
+         {
+            dao.batchAddClientDevices(newList.toArray(new ClientDevice[newList.size()]), clientMnemonic,
+               millEnvironment);
+            progress.addRowsWritten(newList.size());
+         }
+         catch (ManagementException e)
+         {
+            logger.log(Level.WARNING, "Unable to add client devices during import.", e);
+         }
+      }
+   }
+
+   /**
+    * Merges the new and changed devices of a fingerprinted chunk. A changed device the merge leaves
+    * unchanged, because it was updated since its fingerprint was read, is reported as ignored.
+    */
+   private void mergeChunk(ImportChunk chunk, int[] states, String[] attributeNames)
+   {
+      List<ClientDevice> mergeList = new ArrayList<ClientDevice>();
+      for (int i = 0; i < chunk.devices.size(); i++)
+      {
+         if (states[i] != DEVICE_UNCHANGED)
+         {
+            mergeList.add(chunk.devices.get(i));
+         }
+      }
+
+      int[] merged = null;
+      if (mergeList.size() > 0 && !progress.isDryRun())
+      {
+         try
+         {
+            merged = dao.mergeClientDevices(mergeList.toArray(new ClientDevice[mergeList.size()]), attributeNames,
+               clientMnemonic, millEnvironment);
+
+            int written = 0;
+            for (int count : merged)
+            {
+               if (isMergeWritten(count))
+               {
+                  written++;
+               }
+            }
+            progress.addRowsWritten(written);
+         }
+         catch (ManagementException e)
+         {
+            logger.log(Level.WARNING, "Unable to merge client devices during import.", e);
+         }
+      }
+
+      int position = 0;
+      for (int i = 0; i < chunk.devices.size(); i++)
+      {
+         ClientDevice device = chunk.devices.get(i);
+         int state = states[i];
+         if (state != DEVICE_UNCHANGED && merged != null && position < merged.length
+            && !isMergeWritten(merged[position]))
+         {
+            state = DEVICE_UNCHANGED;
+         }
+         if (states[i] != DEVICE_UNCHANGED)
+         {
+            position++;
+         }
+
+         if (state == DEVICE_NEW)
+         {
+            report(device, CREATEDSTATUS);
+         }
+         else if (state == DEVICE_CHANGED)
+         {
+            report(device, UPDATEDSTATUS);
+         }
+         else
+         {
+            report(device, IGNOREDSTATUS);
+         }
+      }
+   }
+
+   /**
+    * @param count the count the merge of a device returned
+    * @return true if the merge wrote the device. A driver that returns no count leaves the fingerprint
+    *         state standing, which found the device new or changed.
+    */
+   private static boolean isMergeWritten(int count)
+   {
+      return count > 0 || count == Statement.SUCCESS_NO_INFO;
+   }
+
+   /**
+    * The attribute columns the fingerprints of a chunk are computed over, or null if the chunk cannot
+    * be fingerprinted because its devices have different attributes or the table lacks a column.
+    */
+   private String[] getFingerprintAttributes(ImportChunk chunk)
+   {
+      if (!importFingerprints)
+      {
+         return null;
+      }
+
+      Set<String> attributeNames = new TreeSet<String>();
+      for (ClientDeviceAttribute attribute : chunk.devices.get(0).getDeviceAttributes())
+      {
+         attributeNames.add(attribute.getName().toUpperCase());
+      }
+      for (ClientDevice device : chunk.devices)
+      {
+         ClientDeviceAttribute[] attributes = device.getDeviceAttributes();
+         if (attributes.length != attributeNames.size())
+         {
+            return null;
+         }
+         for (ClientDeviceAttribute attribute : attributes)
+         {
+            if (!attributeNames.contains(attribute.getName().toUpperCase()))
+            {
+               return null;
+            }
+         }
+      }
+
+      try
+      {
+         Set<String> columns = new HashSet<String>();
+         for (String column : dao.getClientDeviceTableColumns())
+         {
+            columns.add(column.toUpperCase());
+         }
+         if (!columns.containsAll(attributeNames) || !columns.contains(DEFAULT_LOCATION)
+            || !columns.contains(DEVICE_LOCATION))
+         {
+            return null;
+         }
+      }
+      catch (DAOException e)
+      {
+         logger.log(Level.FINE, "Unable to retrieve the device columns, the devices are compared in full.", e);
+         return null;
+      }
+
+      return attributeNames.toArray(new String[attributeNames.size()]);
+   }
+
+   /**
+    * Opens a received import file. Files that start with the gzip magic number are decompressed, so
+    * clients may send either plain or compressed CSV.
+    * 
+    * @param file
+    * @return the stream of the CSV content
+    * @throws IOException
+    */
+   static InputStream openImportFile(File file) throws IOException
+   {
+      BufferedInputStream in = new BufferedInputStream(new FileInputStream(file));
+      try
+      {
+         in.mark(2);
+         int b1 = in.read();
+         int b2 = in.read();
+         in.reset();
+
+         if (b1 == (GZIPInputStream.GZIP_MAGIC & 0xff) && b2 == (GZIPInputStream.GZIP_MAGIC >> 8))
+         {
+            return new GZIPInputStream(in);
+         }
+         return in;
+      }
+      catch (IOException e)
+      {
+         in.close();
+         throw e;
+      }
+   }
+
+   /**
+    * Compares the values of two devices the way their fingerprints do, ignoring case and surrounding
+    * white space. The values are written trimmed, so a value that differs only in white space would
+    * not change the stored device.
+    */
+   private boolean compareDevices(ClientDevice existing, ClientDevice update)
+   {
+      Map<String, String> map = new HashMap<String, String>();
+
+      for (ClientDeviceAttribute attr : existing.getDeviceAttributes())
+      {
+         map.put(attr.getName().toLowerCase(), attr.getValue());
+      }
+
+      for (ClientDeviceAttribute attr : update.getDeviceAttributes())
+      {
+         if (!map.containsKey(attr.getName().toLowerCase())
+            || !compareValues(map.get(attr.getName().toLowerCase()), attr.getValue()))
+         {
+            return false;
+         }
+      }
+
+      return compareValues(existing.getDefaultLocation(), update.getDefaultLocation())
+         && compareValues(existing.getDeviceLocation(), update.getDeviceLocation());
+   }
+
+   private static boolean compareValues(String existing, String update)
+   {
+      return existing == null ? update == null : update != null && existing.trim().equalsIgnoreCase(update.trim());
+   }
+
+   private String createKeyForDevices(String mnemonic, String env, String logicalDomain, String device,
+      ClientDeviceAttribute[] clientDeviceAttributes, String deviceStatus)
+   {
+      StringBuffer buffer = new StringBuffer();
+      if (mnemonic != null)
+      {
+         if (logicalDomain != null)
+         {
+            mnemonic = mnemonic.substring(0, mnemonic.lastIndexOf("_"));
+         }
+         buffer.append(CLIENT_MNEMONIC);
+         buffer.append("::");
+         buffer.append(mnemonic.toUpperCase());
+      }
+
+      buffer.append("::");
+
+      if (env != null)
+      {
+         buffer.append(MILL_ENVIRONMENT);
+         buffer.append("::");
+         buffer.append(env.toUpperCase());
+      }
+
+      buffer.append("::");
+
+      if (logicalDomain != null)
+      {
+         buffer.append(LOGICAL_DOMAIN_ID);
+         buffer.append("::");
+         buffer.append(logicalDomain.toUpperCase());
+      }
+
+      buffer.append("::");
+
+      if (device != null)
+      {
+         buffer.append(CLIENT_NAME);
+         buffer.append("::");
+         buffer.append(device.toLowerCase());
+      }
+      buffer.append("::");
+      buffer.append(DEVICE_STATUS);
+      buffer.append("::");
+      buffer.append(deviceStatus);
+      buffer.append("::");
+
+      for (int i = 0; i < clientDeviceAttributes.length; i++)
+      {
+         buffer.append(clientDeviceAttributes[i].getName());
+         buffer.append("::");
+         buffer.append(clientDeviceAttributes[i].getValue());
+         if (i != clientDeviceAttributes.length - 1)
+         {
+            buffer.append("::");
+         }
+      }
+
+      return buffer.toString();
+   }
+
+   private String createKey(String mnemonic, String env, String logicalDomain, String device)
+   {
+      StringBuffer buffer = new StringBuffer();
+
+      if (mnemonic != null)
+      {
+         if (logicalDomain != null)
+         {
+            mnemonic = mnemonic.substring(0, mnemonic.lastIndexOf("_"));
+         }
+
+         buffer.append(mnemonic.toUpperCase());
+      }
+
+      buffer.append("::");
+
+      if (env != null)
+      {
+         buffer.append(env.toUpperCase());
+      }
+
+      buffer.append("::");
+
+      if (logicalDomain != null)
+      {
+         buffer.append(logicalDomain.toUpperCase());
+      }
+
+      buffer.append("::");
+
+      if (device != null)
+      {
+         buffer.append(device.toLowerCase());
+      }
+
+      return buffer.toString();
+   }
+
+   /**
+    * Counts a device and writes it to the report.
+    */
+   private void report(ClientDevice device, String status)
+   {
+      if (CREATEDSTATUS.equals(status))
+      {
+         createdCount++;
+      }
+      else if (UPDATEDSTATUS.equals(status))
+      {
+         updatedCount++;
+      }
+      else
+      {
+         ignoredCount++;
+      }
+
+      String line = createKeyForDevices(device.getClientMnemonic(), device.getMillenniumEnvironment(),
+         device.getLogicalDomain(), device.getDeviceName(), device.getDeviceAttributes(), status);
+      if (!IGNOREDSTATUS.equals(status) && sample.size() < importSampleSize)
+      {
+         sample.add(line);
+      }
+      writeReport(line);
+   }
+
+   private void writeReport(String line)
+   {
+      if (report == null)
+      {
+         return;
+      }
+
+      try
+      {
+         report.write(line);
+      }
+      catch (IOException e)
+      {
+         logger.log(Level.WARNING, "Unable to write the import report, the remaining devices are not reported.", e);
+         closeReport();
+         progress.setReport(null);
+      }
+   }
+
+   private void closeReport()
+   {
+      if (report != null)
+      {
+         try
+         {
+            report.close();
+         }
+         catch (IOException e)
+         {
+            logger.log(Level.WARNING, "Unable to close the import report " + report.getFile().getName(), e);
+            progress.setReport(null);
+         }
+         report = null;
+      }
+   }
+
+   public Map<String, Object> result()
+   {
+      Map<String, Object> result = new HashMap<String, Object>();
+
+      result.put(UPDATED_COUNT, updatedCount);
+      result.put(CREATED_COUNT, createdCount);
+      result.put(IGNORED_COUNT, ignoredCount);
+      result.put(DUPLICATES_COUNT, duplicatesSet.size());
+      result.put(REPORT, progress.getReport() != null ? progress.getReport().getPath() : null);
+      result.put(JOB_ID, progress.getJobId());
+      result.put(SAMPLE, sample.toArray(new String[sample.size()]));
+
+      return result;
+   }
+
+   /**
+    * The rows of the file read for one chunk of the import
+    */
+   private static class ImportChunk
+   {
+      private final List<ClientDevice> devices = new ArrayList<ClientDevice>();
+      private final List<DeviceKey> keys = new ArrayList<DeviceKey>();
+      private final List<String> ignoredDevices = new ArrayList<String>();
+      private final List<ClientDevice> duplicates = new ArrayList<ClientDevice>();
+      private int rows = 0;
+   }
+
+   /**
+    * A parsed row of the file, either a device or the keys of a row that is not imported
+    */
+   private static class ImportRow
+   {
+      private ClientDevice device;
+      private DeviceKey key;
+      private String ignoredDevice;
+   }
+
+   /**
+    * What each column of the file holds, resolved once from the headers so the rows are parsed
+    * without comparing the headers again
+    */
+   private static final class ImportColumns
+   {
+      private static final int SLOT_NONE = 0;
+      private static final int SLOT_CLIENT_MNEMONIC = 1;
+      private static final int SLOT_MILL_ENVIRONMENT = 2;
+      private static final int SLOT_CLIENT_NAME = 3;
+      private static final int SLOT_DEFAULT_LOCATION = 4;
+      private static final int SLOT_DEVICE_LOCATION = 5;
+      private static final int SLOT_LOGICAL_DOMAIN_ID = 6;
+      private static final int SLOT_ATTRIBUTE = 7;
+
+      private final String[] headers;
+      private final int[] slots;
+
+      // the columns whose values are read
+      private final boolean[] decode;
+
+      // the attribute of each column, columns with the same header share an attribute
+      private final int[] attributeIndexes;
+      private final ClientDeviceAttribute[] defaultAttributes;
+
+      private ImportColumns(String[] headers) throws ManagementException
+      {
+         Set<String> allAttributes = new HashSet<String>(Arrays.asList(AttributeManager.getAttributeNames()));
+
+         this.headers = headers;
+         this.slots = new int[headers.length];
+         this.decode = new boolean[headers.length];
+         this.attributeIndexes = new int[headers.length];
+
+         Map<String, Integer> indexes = new HashMap<String, Integer>();
+         List<ClientDeviceAttribute> defaults = new ArrayList<ClientDeviceAttribute>();
+         for (int i = 0; i < headers.length; i++)
+         {
+            String header = headers[i];
+            boolean attribute = allAttributes.contains(header.toUpperCase());
+
+            if (CLIENT_MNEMONIC.equalsIgnoreCase(header))
+            {
+               slots[i] = SLOT_CLIENT_MNEMONIC;
+            }
+            else if (MILL_ENVIRONMENT.equalsIgnoreCase(header))
+            {
+               slots[i] = SLOT_MILL_ENVIRONMENT;
+            }
+            else if (CLIENT_NAME.equalsIgnoreCase(header))
+            {
+               slots[i] = SLOT_CLIENT_NAME;
+            }
+            else if (DEFAULT_LOCATION.equalsIgnoreCase(header))
+            {
+               slots[i] = SLOT_DEFAULT_LOCATION;
+            }
+            else if (DEVICE_LOCATION.equalsIgnoreCase(header))
+            {
+               slots[i] = SLOT_DEVICE_LOCATION;
+            }
+            else if (LOGICAL_DOMAIN_ID.equalsIgnoreCase(header))
+            {
+               slots[i] = SLOT_LOGICAL_DOMAIN_ID;
+            }
+            else if (attribute)
+            {
+               slots[i] = SLOT_ATTRIBUTE;
+            }
+            else
+            {
+               slots[i] = SLOT_NONE;
+            }
+
+            decode[i] = slots[i] != SLOT_NONE;
+
+            // the mnemonic, environment and name are only attributes when they default to blank
+            boolean setsAttribute = slots[i] >= SLOT_DEFAULT_LOCATION;
+            if (attribute || setsAttribute)
+            {
+               Integer index = indexes.get(header);
+               if (index == null)
+               {
+                  index = defaults.size();
+                  indexes.put(header, index);
+                  defaults.add(null);
+               }
+               if (attribute)
+               {
+                  defaults.set(index, new ClientDeviceAttribute(header, ""));
+               }
+               attributeIndexes[i] = setsAttribute ? index : -1;
+            }
+            else
+            {
+               attributeIndexes[i] = -1;
+            }
+         }
+         this.defaultAttributes = defaults.toArray(new ClientDeviceAttribute[defaults.size()]);
+      }
+   }
+
+   /**
+    * The fields {@link ClientDevice#equals(Object)} compares, lower cased once so devices can be
+    * matched through a hash map without converting them on every comparison
+    */
+   private static final class DeviceKey
+   {
+      private final String deviceId;
+      private final String clientMnemonic;
+      private final String millenniumEnvironment;
+      private final String logicalDomain;
+      private final int hash;
+
+      private DeviceKey(ClientDevice device)
+      {
+         this(device.getDeviceId(), device.getClientMnemonic(), device.getMillenniumEnvironment(),
+            device.getLogicalDomain());
+      }
+
+      private DeviceKey(String deviceId, String clientMnemonic, String millenniumEnvironment, String logicalDomain)
+      {
+         this.deviceId = deviceId != null ? deviceId.toLowerCase() : "";
+         this.clientMnemonic = clientMnemonic != null ? clientMnemonic.toLowerCase() : "";
+         this.millenniumEnvironment = millenniumEnvironment != null ? millenniumEnvironment.toLowerCase() : "";
+         this.logicalDomain = logicalDomain != null ? logicalDomain.toLowerCase() : "";
+
+         int result = this.deviceId.hashCode();
+         result = 31 * result + this.clientMnemonic.hashCode();
+         result = 31 * result + this.millenniumEnvironment.hashCode();
+         result = 31 * result + this.logicalDomain.hashCode();
+         hash = result;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object o)
+      {
+         if (!(o instanceof DeviceKey))
+         {
+            return false;
+         }
+
+         DeviceKey key = (DeviceKey) o;
+         return hash == key.hash && deviceId.equals(key.deviceId) && clientMnemonic.equals(key.clientMnemonic)
+            && millenniumEnvironment.equals(key.millenniumEnvironment) && logicalDomain.equals(key.logicalDomain);
+      }
+   }
+}
@@ -0,0 +1,136 @@
+package com.cerner.management.wtslocation;
+
+/**
+ * The state of an import of client devices at the time it was retrieved.
+ */
+public class ClientDeviceImportJob
+{
+   private final String jobId;
+   private final String stub;
+   private final boolean dryRun;
+   private final String status;
+   private final String failure;
+   private final long rowsParsed;
+   private final long rowsDiffed;
+   private final long rowsWritten;
+   private final double rowsPerSecond;
+   private final long startTime;
+   private final long endTime;
+
+   /**
+    * @param jobId the id of the import
+    * @param stub the serialized stub of the import file
+    * @param dryRun true if the import does not write the devices
+    * @param status
+    * @param failure the error that stopped the import or null
+    * @param rowsParsed
+    * @param rowsDiffed
+    * @param rowsWritten
+    * @param rowsPerSecond
+    * @param startTime the start of the import in seconds, or 0 if it has not started
+    * @param endTime the end of the import in seconds, or 0 if it has not finished
+    */
+   public ClientDeviceImportJob(String jobId, String stub, boolean dryRun, String status, String failure,
+      long rowsParsed, long rowsDiffed, long rowsWritten, double rowsPerSecond, long startTime, long endTime)
+   {
+      this.jobId = jobId;
+      this.stub = stub;
+      this.dryRun = dryRun;
+      this.status = status;
+      this.failure = failure;
+      this.rowsParsed = rowsParsed;
+      this.rowsDiffed = rowsDiffed;
+      this.rowsWritten = rowsWritten;
+      this.rowsPerSecond = rowsPerSecond;
+      this.startTime = startTime;
+      this.endTime = endTime;
+   }
+
+   /**
+    * @return The id of the import
+    */
+   public String getJobId()
+   {
+      return jobId;
+   }
+
+   /**
+    * @return A String of the import file stub in serialized format
+    */
+   public String getStub()
+   {
+      return stub;
+   }
+
+   /**
+    * @return True if the import reports the changes it would make without writing them
+    */
+   public boolean getDryRun()
+   {
+      return dryRun;
+   }
+
+   /**
+    * @return Waiting, Running, Completed, Cancelled or Failed
+    */
+   public String getStatus()
+   {
+      return status;
+   }
+
+   /**
+    * @return The error that stopped the import, or null
+    */
+   public String getFailure()
+   {
+      return failure;
+   }
+
+   /**
+    * @return The number of rows read from the file
+    */
+   public long getRowsParsed()
+   {
+      return rowsParsed;
+   }
+
+   /**
+    * @return The number of rows compared with the stored devices
+    */
+   public long getRowsDiffed()
+   {
+      return rowsDiffed;
+   }
+
+   /**
+    * @return The number of devices added or updated
+    */
+   public long getRowsWritten()
+   {
+      return rowsWritten;
+   }
+
+   /**
+    * @return The number of rows compared per second since the import started
+    */
+   public double getRowsPerSecond()
+   {
+      return rowsPerSecond;
+   }
+
+   /**
+    * @return The start of the import in seconds, or 0 if the file has not been transferred yet
+    */
+   public long getStartTime()
+   {
+      return startTime;
+   }
+
+   /**
+    * @return The end of the import in seconds, or 0 if it has not finished
+    */
+   public long getEndTime()
+   {
+      return endTime;
+   }
+}
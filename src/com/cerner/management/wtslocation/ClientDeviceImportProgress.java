@@ -0,0 +1,243 @@
+/*
+ * File: ClientDeviceImportProgress.java
+ * Package: com.cerner.management.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The live state of an import, updated by the {@link ClientDeviceFileTransferListener} that runs it
+ * and read by the MBean while it runs. An import can be cancelled at any time; the listener stops
+ * before its next chunk.
+ */
+public class ClientDeviceImportProgress implements Serializable
+{
+   private static final long serialVersionUID = 6016914633251418421L;
+
+   /**
+    * The import waits for its file to be transferred
+    */
+   public static final String STATUS_WAITING = "Waiting";
+
+   /**
+    * The file is being imported
+    */
+   public static final String STATUS_RUNNING = "Running";
+
+   /**
+    * The whole file was imported
+    */
+   public static final String STATUS_COMPLETED = "Completed";
+
+   /**
+    * The import was stopped before the whole file was imported
+    */
+   public static final String STATUS_CANCELLED = "Cancelled";
+
+   /**
+    * The import stopped on an error
+    */
+   public static final String STATUS_FAILED = "Failed";
+
+   private final String jobId;
+   private final boolean dryRun;
+   private final long createTime = System.currentTimeMillis();
+
+   private final AtomicLong rowsParsed = new AtomicLong();
+   private final AtomicLong rowsDiffed = new AtomicLong();
+   private final AtomicLong rowsWritten = new AtomicLong();
+
+   private volatile String status = STATUS_WAITING;
+   private volatile String failure = null;
+   private volatile boolean cancelled = false;
+   private volatile long startTime = 0;
+   private volatile long endTime = 0;
+   private volatile Map<String, Object> result = null;
+   private volatile File report = null;
+
+   /**
+    * @param jobId
+    */
+   public ClientDeviceImportProgress(String jobId)
+   {
+      this(jobId, false);
+   }
+
+   /**
+    * @param jobId
+    * @param dryRun true if the import only compares the devices with the stored devices
+    */
+   public ClientDeviceImportProgress(String jobId, boolean dryRun)
+   {
+      this.jobId = jobId;
+      this.dryRun = dryRun;
+   }
+
+   /**
+    * @return the id of the import
+    */
+   public String getJobId()
+   {
+      return jobId;
+   }
+
+   /**
+    * @return true if the import reports the changes it would make without writing them
+    */
+   public boolean isDryRun()
+   {
+      return dryRun;
+   }
+
+   /**
+    * @return the time, in milliseconds, the import was created
+    */
+   public long getCreateTime()
+   {
+      return createTime;
+   }
+
+   /**
+    * Asks the import to stop before its next chunk.
+    *
+    * @return false if the import has already finished
+    */
+   public boolean cancel()
+   {
+      cancelled = true;
+      return !isFinished();
+   }
+
+   /**
+    * @return true if the import was asked to stop
+    */
+   public boolean isCancelled()
+   {
+      return cancelled;
+   }
+
+   /**
+    * @return true if the import completed, was cancelled or failed
+    */
+   public boolean isFinished()
+   {
+      return endTime != 0;
+   }
+
+   /**
+    * @return true if the file is being imported
+    */
+   public boolean isRunning()
+   {
+      return STATUS_RUNNING.equals(status);
+   }
+
+   /**
+    * Marks the start of the import, once its file has been transferred.
+    */
+   public void start()
+   {
+      startTime = System.currentTimeMillis();
+      status = STATUS_RUNNING;
+   }
+
+   /**
+    * Records an error that stops the import. Only the first error is kept.
+    *
+    * @param message
+    */
+   public void fail(String message)
+   {
+      if (failure == null)
+      {
+         failure = message;
+      }
+   }
+
+   /**
+    * Marks the end of the import.
+    *
+    * @param result the result of the listener
+    */
+   public void finish(Map<String, Object> result)
+   {
+      this.result = result;
+      status = failure != null ? STATUS_FAILED : cancelled ? STATUS_CANCELLED : STATUS_COMPLETED;
+      endTime = System.currentTimeMillis();
+   }
+
+   /**
+    * @param rows the number of rows read from the file
+    */
+   public void addRowsParsed(long rows)
+   {
+      rowsParsed.addAndGet(rows);
+   }
+
+   /**
+    * @param rows the number of rows compared with the stored devices
+    */
+   public void addRowsDiffed(long rows)
+   {
+      rowsDiffed.addAndGet(rows);
+   }
+
+   /**
+    * @param rows the number of devices added or updated
+    */
+   public void addRowsWritten(long rows)
+   {
+      rowsWritten.addAndGet(rows);
+   }
+
+   /**
+    * @param report the report file of the import, or null if it could not be written
+    */
+   public void setReport(File report)
+   {
+      this.report = report;
+   }
+
+   /**
+    * @return the report file of the import, complete once the import has finished, or null
+    */
+   public File getReport()
+   {
+      return report;
+   }
+
+   /**
+    * @return the result of the listener, or null until the import has finished
+    */
+   public Map<String, Object> getResult()
+   {
+      return result;
+   }
+
+   /**
+    * @param stub the serialized stub of the import file
+    * @return the current state of the import
+    */
+   public ClientDeviceImportJob toJob(String stub)
+   {
+      long start = startTime;
+      long end = endTime;
+      long diffed = rowsDiffed.get();
+
+      double rowsPerSecond = 0;
+      if (start != 0)
+      {
+         long elapsed = (end != 0 ? end : System.currentTimeMillis()) - start;
+         rowsPerSecond = elapsed > 0 ? diffed * 1000.0 / elapsed : 0;
+      }
+
+      return new ClientDeviceImportJob(jobId, stub, dryRun, status, failure, rowsParsed.get(), diffed,
+         rowsWritten.get(), rowsPerSecond, start / 1000, end / 1000);
+   }
+}
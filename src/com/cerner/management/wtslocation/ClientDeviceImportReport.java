@@ -0,0 +1,66 @@
+/*
+ * File: ClientDeviceImportReport.java
+ * Package: com.cerner.management.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The gzip compressed report of an import, with a line for every device the import created,
+ * updated, ignored or found repeated. The lines are written as the devices are imported, so the
+ * report is never held in memory.
+ */
+class ClientDeviceImportReport implements Closeable
+{
+   private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+   private final File file;
+   private final Writer out;
+
+   /**
+    * Creates the report in a temporary file.
+    *
+    * @throws IOException
+    */
+   ClientDeviceImportReport() throws IOException
+   {
+      file = File.createTempFile("WTSLocationImportReport", ".txt.gz");
+      file.deleteOnExit();
+      out = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(file)),
+         StandardCharsets.UTF_8));
+   }
+
+   /**
+    * @return the file of the report
+    */
+   File getFile()
+   {
+      return file;
+   }
+
+   /**
+    * @param line the description of a device
+    * @throws IOException
+    */
+   void write(String line) throws IOException
+   {
+      out.write(line);
+      out.write(LINE_SEPARATOR);
+   }
+
+   public void close() throws IOException
+   {
+      out.close();
+   }
+}
@@ -0,0 +1,83 @@
+package com.cerner.management.wtslocation;
+
+import java.util.Map;
+
+/**
+ * The number of devices an import created, updated, ignored or found repeated. The devices
+ * themselves are listed in the report of the import.
+ */
+public class ClientDeviceImportResult
+{
+   private final Map<String, Object> result;
+
+   /**
+    * @param result the result of a {@link ClientDeviceFileTransferListener}
+    */
+   public ClientDeviceImportResult(Map<String, Object> result)
+   {
+      this.result = result;
+   }
+
+   /**
+    * @return The id of the import
+    */
+   public String getJobId()
+   {
+      return (String) result.get(ClientDeviceFileTransferListener.JOB_ID);
+   }
+
+   /**
+    * @return The number of created devices
+    */
+   public int getCreatedCount()
+   {
+      return get(ClientDeviceFileTransferListener.CREATED_COUNT);
+   }
+
+   /**
+    * @return The number of updated devices
+    */
+   public int getUpdatedCount()
+   {
+      return get(ClientDeviceFileTransferListener.UPDATED_COUNT);
+   }
+
+   /**
+    * @return The number of devices that were not changed or not imported
+    */
+   public int getIgnoredCount()
+   {
+      return get(ClientDeviceFileTransferListener.IGNORED_COUNT);
+   }
+
+   /**
+    * @return The number of devices that appeared more than once in the file
+    */
+   public int getDuplicatesCount()
+   {
+      return get(ClientDeviceFileTransferListener.DUPLICATES_COUNT);
+   }
+
+   /**
+    * @return The first created and updated devices with their attributes
+    */
+   public String[] getSample()
+   {
+      Object value = result.get(ClientDeviceFileTransferListener.SAMPLE);
+      return value instanceof String[] ? (String[]) value : new String[0];
+   }
+
+   /**
+    * @return True if the report of the import can be retrieved
+    */
+   public boolean getReportAvailable()
+   {
+      return result.get(ClientDeviceFileTransferListener.REPORT) != null;
+   }
+
+   private int get(String key)
+   {
+      Object value = result.get(key);
+      return value instanceof Integer ? ((Integer) value).intValue() : 0;
+   }
+}
@@ -0,0 +1,163 @@
+/*
+ * File: LogicalDomainIndex.java
+ * Package: com.cerner.management.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+/**
+ * An index of {@link LogicalDomain}s by id and by name, built once per refresh of a
+ * {@link LogicalDomainCache}. The ids are held in an open addressing table of primitive longs and the
+ * names in a table hashed on their case folded characters, so lookups allocate nothing and a name is
+ * found whatever its casing. A name that differs from another only by its casing is found by its
+ * exact casing first.
+ */
+class LogicalDomainIndex
+{
+   private final LogicalDomain[] domains;
+
+   private final int mask;
+   private final long[] ids;
+   private final LogicalDomain[] byId;
+   private final LogicalDomain[] byName;
+
+   /**
+    * @param domains
+    */
+   LogicalDomainIndex(LogicalDomain[] domains)
+   {
+      this.domains = domains.clone();
+
+      // at most half full, so probe sequences stay short
+      int capacity = 2;
+      while (capacity < domains.length * 2)
+      {
+         capacity <<= 1;
+      }
+      mask = capacity - 1;
+      ids = new long[capacity];
+      byId = new LogicalDomain[capacity];
+      byName = new LogicalDomain[capacity];
+
+      for (LogicalDomain domain : domains)
+      {
+         putId(domain);
+         if (domain.getLogicalDomain() != null)
+         {
+            putName(domain);
+         }
+      }
+   }
+
+   private void putId(LogicalDomain domain)
+   {
+      long id = domain.getId();
+      int slot = hash(id) & mask;
+      while (byId[slot] != null)
+      {
+         if (ids[slot] == id)
+         {
+            // the last domain of an id wins, as it did in a map
+            byId[slot] = domain;
+            return;
+         }
+         slot = (slot + 1) & mask;
+      }
+      ids[slot] = id;
+      byId[slot] = domain;
+   }
+
+   private void putName(LogicalDomain domain)
+   {
+      String name = domain.getLogicalDomain();
+      int slot = foldedHash(name) & mask;
+      while (byName[slot] != null)
+      {
+         if (byName[slot].getLogicalDomain().equals(name))
+         {
+            byName[slot] = domain;
+            return;
+         }
+         slot = (slot + 1) & mask;
+      }
+      byName[slot] = domain;
+   }
+
+   /**
+    * @param id
+    * @return the logical domain or null
+    */
+   LogicalDomain get(long id)
+   {
+      int slot = hash(id) & mask;
+      LogicalDomain domain;
+      while ((domain = byId[slot]) != null)
+      {
+         if (ids[slot] == id)
+         {
+            return domain;
+         }
+         slot = (slot + 1) & mask;
+      }
+      return null;
+   }
+
+   /**
+    * @param name the name in any casing
+    * @return the logical domain or null
+    */
+   LogicalDomain get(String name)
+   {
+      if (name == null)
+      {
+         return null;
+      }
+
+      int slot = foldedHash(name) & mask;
+      LogicalDomain folded = null;
+      LogicalDomain domain;
+      while ((domain = byName[slot]) != null)
+      {
+         String candidate = domain.getLogicalDomain();
+         if (candidate.equals(name))
+         {
+            return domain;
+         }
+         if (folded == null && candidate.equalsIgnoreCase(name))
+         {
+            folded = domain;
+         }
+         slot = (slot + 1) & mask;
+      }
+      return folded;
+   }
+
+   /**
+    * @return all logical domains
+    */
+   LogicalDomain[] getAll()
+   {
+      return domains.clone();
+   }
+
+   private static int hash(long id)
+   {
+      long h = id * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+   }
+
+   /**
+    * A hash that is equal for names that are equal ignoring case, folding each character the way
+    * {@link String#equalsIgnoreCase(String)} compares them.
+    */
+   private static int foldedHash(String name)
+   {
+      int h = 0;
+      for (int i = 0; i < name.length(); i++)
+      {
+         h = 31 * h + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+      }
+      return h ^ (h >>> 16);
+   }
+}
@@ -0,0 +1,97 @@
+/*
+ * File: LogicalDomainResolver.java
+ * Package: com.cerner.management.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+/**
+ * The {@link LogicalDomain}s of a domain as read by one refresh of its {@link LogicalDomainCache}. A
+ * resolver never changes, so a query takes one from the cache and resolves all of its rows with it
+ * without going back to the cache.
+ */
+public class LogicalDomainResolver
+{
+   private final LogicalDomainIndex index;
+
+   /**
+    * @param domains
+    */
+   LogicalDomainResolver(LogicalDomain[] domains)
+   {
+      this.index = new LogicalDomainIndex(domains);
+   }
+
+   /**
+    * Retrieve a {@link LogicalDomain} based on its id
+    * 
+    * @param id
+    * @return the logical domain or null
+    */
+   public LogicalDomain getLogicalDomain(long id)
+   {
+      return index.get(id);
+   }
+
+   /**
+    * Retrieve a {@link LogicalDomain} based on its name, in any casing
+    * 
+    * @param name
+    * @return the logical domain or null
+    */
+   public LogicalDomain getLogicalDomain(String name)
+   {
+      return index.get(name);
+   }
+
+   /**
+    * @param id the id of a logical domain as read from a row
+    * @return the name of the logical domain, or an empty string if the id is null, not a number or
+    *         unknown
+    */
+   public String getLogicalDomainName(String id)
+   {
+      if (id != null)
+      {
+         try
+         {
+            LogicalDomain ld = getLogicalDomain(Long.parseLong(id));
+            if (ld != null)
+            {
+               return ld.getLogicalDomain();
+            }
+         }
+         catch (NumberFormatException e)
+         {
+            // Don't set logical domain name
+         }
+      }
+      return "";
+   }
+
+   /**
+    * @param name the name of a logical domain or null
+    * @return the id of the logical domain, or -1 if the name is null or unknown
+    */
+   public long getLogicalDomainId(String name)
+   {
+      if (name != null)
+      {
+         LogicalDomain ld = getLogicalDomain(name);
+         if (ld != null)
+         {
+            return ld.getId();
+         }
+      }
+      return -1l;
+   }
+
+   /**
+    * @return all logical domains
+    */
+   public LogicalDomain[] getLogicalDomains()
+   {
+      return index.getAll();
+   }
+}
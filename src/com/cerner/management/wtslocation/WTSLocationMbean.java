@@ -1,170 +1,287 @@
-/*
- * File: WTSLocationMbean.java
- * Package: com.cerner.management.mbean.wtslocation
- * Project: management-wtslocation
- */
-
-package com.cerner.management.wtslocation;
-
-import com.cerner.management.MBeanService;
-import com.cerner.management.data.dao.DAOException;
-import com.cerner.management.exception.ManagementException;
-import com.cerner.management.wtslocation.configuration.Attribute;
-import com.cerner.management.wtslocation.configuration.ConfigurationSettings;
-
-/**
- * WTS MBean.
- */
-public interface WTSLocationMbean extends MBeanService
-{
-   /**
-    * MBean Service Type
-    */
-   public static final String WTS_MBEAN_TYPE = "WTSLocationManagementService";
-
-   /**
-    * Retrieves a client device in the environment.
-    * 
-    * @param deviceName
-    * @return a client device or null if it cannot be found
-    * @throws ManagementException
-    */
-   public ClientDevice retrieveClientDevice(String deviceName) throws ManagementException;
-   
-   /**
-    * Retrieves a client device with the name and logical domain
-    * @param deviceName
-    * @param logicalDomain
-    * @return the client device or null
-    * @throws ManagementException
-    */
-   public ClientDevice retrieveClientDeviceWithLogicalDomain(String deviceName, String logicalDomain) throws ManagementException;
-
-   /**
-    * Retrieves a wrapper for the client devices in the environment. Limits the number of client
-    * devices that can be returned based upon a property set by the user.
-    * 
-    * @param filter
-    * @return the wrapped client devices
-    * @throws ManagementException
-    */
-   public BoundedClientDevice listBoundedClientDevices(ClientDeviceFilter filter) throws ManagementException;
-
-   /**
-    * Adds a client device to the database.
-    * 
-    * @param device The client device to add
-    * @throws ManagementException
-    */
-   public void addClientDevice(ClientDevice device) throws ManagementException;
-
-   /**
-    * Updates a client device in the database.
-    * 
-    * @param device The client device to update
-    * @throws ManagementException
-    */
-   public void updateClientDevice(ClientDevice device) throws ManagementException;
-
-   /**
-    * Deletes a client device from the database.
-    * 
-    * @param device The client device to delete
-    * @throws ManagementException
-    */
-   public void deleteClientDevice(ClientDevice device) throws ManagementException;
-
-   /**
-    * Exports all client devices and their attributes into a CSV file.
-    * 
-    * @return A String of the CSV file in serialized format.
-    * @throws ManagementException
-    */
-   public String exportClientDevices() throws ManagementException;
-
-   /**
-    * Imports a client device and its attributes. The import will determine whether the device needs
-    * to be created or updated.
-    * 
-    * @param path to create or modify
-    * @return the stub of the import file
-    * @throws ManagementException if an error occurs processing the import
-    */
-   public String importClientDevices(String path) throws ManagementException;
-
-   /**
-    * Lists the attributes defined for wtslocation
-    * 
-    * @return the list of attributes
-    * @throws ManagementException 
-    */
-   public Attribute[] listAttributes() throws ManagementException;
-
-   /**
-    * Retrieves a single attribute that matches the supplied string
-    * 
-    * @param attributeName
-    * @return the attribute or null
-    */
-   public Attribute retrieveAttribute(String attributeName);
-
-   /**
-    * Updates an attributes enabledness
-    * 
-    * @param attributeName
-    * @param enabled
-    * @throws ManagementException
-    */
-   public void updateAttribute(String attributeName, boolean enabled) throws ManagementException;
-
-   /**
-    * Retrieves the configuration settings
-    * 
-    * @return the configuration settings
-    * @throws ManagementException
-    */
-   public ConfigurationSettings retrieveConfigurationSettings() throws ManagementException;
-
-   /**
-    * Updates the configuration settings
-    * 
-    * @param settings
-    * @throws ManagementException
-    */
-   public void updateConfigurationSettings(ConfigurationSettings settings) throws ManagementException;
-
-   /**
-    * Lists the logical domains available for the millennium environment
-    * 
-    * @return the logical domains
-    * @throws ManagementException
-    */
-   public LogicalDomain[] listLogicalDomains() throws ManagementException;
-
-   /**
-    * Retrieves the logical domain that matches an id
-    * 
-    * @param id
-    * @return the logical domain or null
-    * @throws ManagementException
-    */
-   public LogicalDomain retrieveLogicalDomain(long id) throws ManagementException;
-   
-   /**
-    * Updates the logical domain for a device
-    * 
-    * @param deviceName The name of the device to update
-    * @param oldLogicalDomain The old logical domain name
-    * @param newLogicalDomain The new logical domain name
-    * @throws ManagementException 
-    */
-   public void updateLogicalDomain(String deviceName, String oldLogicalDomain, String newLogicalDomain) throws ManagementException;
-   
-   /**
-    * Lists the columns defined for wtslocation
-    * 
-    * @return the list of columns
-    * @throws ManagementException 
-    */
-   public Column[] listColumns() throws ManagementException;
-}
+/*
+ * File: WTSLocationMbean.java
+ * Package: com.cerner.management.mbean.wtslocation
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation;
+
+import com.cerner.management.MBeanService;
+import com.cerner.management.data.dao.DAOException;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.wtslocation.configuration.Attribute;
+import com.cerner.management.wtslocation.configuration.ConfigurationSettings;
+
+/**
+ * WTS MBean.
+ */
+public interface WTSLocationMbean extends MBeanService
+{
+   /**
+    * MBean Service Type
+    */
+   public static final String WTS_MBEAN_TYPE = "WTSLocationManagementService";
+
+   /**
+    * Retrieves a client device in the environment.
+    * 
+    * @param deviceName
+    * @return a client device or null if it cannot be found
+    * @throws ManagementException
+    */
+   public ClientDevice retrieveClientDevice(String deviceName) throws ManagementException;
+   
+   /**
+    * Retrieves a client device with the name and logical domain
+    * @param deviceName
+    * @param logicalDomain
+    * @return the client device or null
+    * @throws ManagementException
+    */
+   public ClientDevice retrieveClientDeviceWithLogicalDomain(String deviceName, String logicalDomain) throws ManagementException;
+
+   /**
+    * Retrieves several client devices in the environment with one query per chunk of names.
+    * 
+    * @param deviceNames
+    * @return the client devices in the order of the names, with null for each device that cannot be
+    *         found
+    * @throws ManagementException
+    */
+   public ClientDevice[] retrieveClientDevices(String[] deviceNames) throws ManagementException;
+
+   /**
+    * Retrieves a wrapper for the client devices in the environment. Limits the number of client
+    * devices that can be returned based upon a property set by the user.
+    * 
+    * @param filter
+    * @return the wrapped client devices
+    * @throws ManagementException
+    */
+   public BoundedClientDevice listBoundedClientDevices(ClientDeviceFilter filter) throws ManagementException;
+
+   /**
+    * Adds a client device to the database.
+    * 
+    * @param device The client device to add
+    * @throws ManagementException
+    */
+   public void addClientDevice(ClientDevice device) throws ManagementException;
+
+   /**
+    * Updates a client device in the database.
+    * 
+    * @param device The client device to update
+    * @throws ManagementException
+    */
+   public void updateClientDevice(ClientDevice device) throws ManagementException;
+
+   /**
+    * Deletes a client device from the database.
+    * 
+    * @param device The client device to delete
+    * @throws ManagementException
+    */
+   public void deleteClientDevice(ClientDevice device) throws ManagementException;
+
+   /**
+    * Exports all client devices and their attributes into a CSV file.
+    * 
+    * @return A String of the CSV file in serialized format.
+    * @throws ManagementException
+    */
+   public String exportClientDevices() throws ManagementException;
+
+   /**
+    * Exports all client devices and their attributes into a gzip compressed CSV file.
+    * 
+    * @return A String of the compressed CSV file in serialized format.
+    * @throws ManagementException
+    */
+   public String exportCompressedClientDevices() throws ManagementException;
+
+   /**
+    * Exports the client devices updated at or after a point in time into a CSV file. Every device is
+    * exported if the devices do not record their update time.
+    * 
+    * @param since the update time in seconds, usually the high-water mark of the previous export
+    * @return the serialized CSV file and the high-water mark to pass to the next export
+    * @throws ManagementException
+    */
+   public ClientDeviceExport exportClientDevicesSince(long since) throws ManagementException;
+
+   /**
+    * Exports the client devices that match a filter and their attributes into a CSV file. Unlike
+    * {@link #listBoundedClientDevices(ClientDeviceFilter)} the number of devices is not limited.
+    * 
+    * @param filter the filter object
+    * @return A String of the CSV file in serialized format.
+    * @throws ManagementException
+    */
+   public String exportFilteredClientDevices(ClientDeviceFilter filter) throws ManagementException;
+
+   /**
+    * Imports a client device and its attributes. The import will determine whether the device needs
+    * to be created or updated. The file may be plain or gzip compressed CSV.
+    * 
+    * @param path to create or modify
+    * @return the stub of the import file
+    * @throws ManagementException if an error occurs processing the import
+    */
+   public String importClientDevices(String path) throws ManagementException;
+
+   /**
+    * Imports client devices like {@link #importClientDevices(String)}, as a job whose progress can be
+    * retrieved by its id. The import starts once the file has been transferred.
+    * 
+    * @param path to create or modify
+    * @return the job, with its id and the stub of the import file
+    * @throws ManagementException if an error occurs creating the import
+    */
+   public ClientDeviceImportJob startClientDeviceImport(String path) throws ManagementException;
+
+   /**
+    * Compares a file of client devices with the stored devices like
+    * {@link #startClientDeviceImport(String)}, without adding or updating any device. The result
+    * and report of the job list the devices the import would create and update.
+    * 
+    * @param path to compare
+    * @return the job, with its id and the stub of the import file
+    * @throws ManagementException if an error occurs creating the import
+    */
+   public ClientDeviceImportJob dryRunClientDeviceImport(String path) throws ManagementException;
+
+   /**
+    * Retrieves the progress of an import.
+    * 
+    * @param jobId the id of the import
+    * @return the import or null if there is no import with the id
+    */
+   public ClientDeviceImportJob retrieveClientDeviceImport(String jobId);
+
+   /**
+    * Lists the running imports and the most recent ones that are waiting or finished.
+    * 
+    * @return the imports, oldest first
+    */
+   public ClientDeviceImportJob[] listClientDeviceImports();
+
+   /**
+    * Cancels an import. A running import stops before its next chunk of rows, the rows already
+    * written are kept.
+    * 
+    * @param jobId the id of the import
+    * @return true if the import had not finished
+    */
+   public boolean cancelClientDeviceImport(String jobId);
+
+   /**
+    * Retrieves the number of devices an import created, updated and ignored.
+    * 
+    * @param jobId the id of the import
+    * @return the result or null if the import has not finished
+    */
+   public ClientDeviceImportResult retrieveClientDeviceImportResult(String jobId);
+
+   /**
+    * Sends the report of a finished import, a gzip compressed file with a line for every device the
+    * import created, updated, ignored or found repeated.
+    * 
+    * @param jobId the id of the import
+    * @return A String of the report file stub in serialized format, or null if the import has not
+    *         finished or has no report
+    * @throws ManagementException
+    */
+   public String retrieveClientDeviceImportReport(String jobId) throws ManagementException;
+
+   /**
+    * Lists the attributes defined for wtslocation
+    * 
+    * @return the list of attributes
+    * @throws ManagementException 
+    */
+   public Attribute[] listAttributes() throws ManagementException;
+
+   /**
+    * Retrieves a single attribute that matches the supplied string
+    * 
+    * @param attributeName
+    * @return the attribute or null
+    */
+   public Attribute retrieveAttribute(String attributeName);
+
+   /**
+    * Updates an attributes enabledness
+    * 
+    * @param attributeName
+    * @param enabled
+    * @throws ManagementException
+    */
+   public void updateAttribute(String attributeName, boolean enabled) throws ManagementException;
+
+   /**
+    * Retrieves the configuration settings
+    * 
+    * @return the configuration settings
+    * @throws ManagementException
+    */
+   public ConfigurationSettings retrieveConfigurationSettings() throws ManagementException;
+
+   /**
+    * Updates the configuration settings
+    * 
+    * @param settings
+    * @throws ManagementException
+    */
+   public void updateConfigurationSettings(ConfigurationSettings settings) throws ManagementException;
+
+   /**
+    * Lists the logical domains available for the millennium environment
+    * 
+    * @return the logical domains
+    * @throws ManagementException
+    */
+   public LogicalDomain[] listLogicalDomains() throws ManagementException;
+
+   /**
+    * Retrieves the logical domain that matches an id
+    * 
+    * @param id
+    * @return the logical domain or null
+    * @throws ManagementException
+    */
+   public LogicalDomain retrieveLogicalDomain(long id) throws ManagementException;
+   
+   /**
+    * Updates the logical domain for a device
+    * 
+    * @param deviceName The name of the device to update
+    * @param oldLogicalDomain The old logical domain name
+    * @param newLogicalDomain The new logical domain name
+    * @throws ManagementException 
+    */
+   public void updateLogicalDomain(String deviceName, String oldLogicalDomain, String newLogicalDomain) throws ManagementException;
+   
+   /**
+    * Lists the columns defined for wtslocation
+    * 
+    * @return the list of columns
+    * @throws ManagementException 
+    */
+   public Column[] listColumns() throws ManagementException;
+   
+   /**
+    * Retrieves the number of device lookups that shared the result of an identical lookup already
+    * in progress instead of querying the database.
+    * 
+    * @return the number of coalesced lookups
+    */
+   public long getCoalescedClientDeviceLookups();
+
+   /**
+    * Retrieves the refreshes of the caches kept fresh by the {@link CacheRefreshScheduler}.
+    * 
+    * @return the last refresh time, duration and failure count of each cache
+    */
+   public CacheRefreshStatistics[] getCacheRefreshStatistics();
+}
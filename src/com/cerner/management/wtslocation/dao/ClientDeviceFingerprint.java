@@ -0,0 +1,77 @@
+/*
+ * File: ClientDeviceFingerprint.java
+ * Package: com.cerner.management.wtslocation.dao
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao;
+
+/**
+ * The key of a stored client device together with a hash of the values the import compares, so
+ * unchanged devices can be recognized without reading their rows.
+ */
+public class ClientDeviceFingerprint
+{
+   private final String clientMnemonic;
+   private final String millenniumEnvironment;
+   private final String deviceName;
+   private final String logicalDomain;
+   private final String fingerprint;
+
+   /**
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param deviceName
+    * @param logicalDomain the name of the logical domain or an empty string
+    * @param fingerprint the hash of the values, in hexadecimal
+    */
+   public ClientDeviceFingerprint(String clientMnemonic, String millenniumEnvironment, String deviceName,
+      String logicalDomain, String fingerprint)
+   {
+      this.clientMnemonic = clientMnemonic;
+      this.millenniumEnvironment = millenniumEnvironment;
+      this.deviceName = deviceName;
+      this.logicalDomain = logicalDomain;
+      this.fingerprint = fingerprint;
+   }
+
+   /**
+    * @return the client mnemonic
+    */
+   public String getClientMnemonic()
+   {
+      return clientMnemonic;
+   }
+
+   /**
+    * @return the Millennium environment
+    */
+   public String getMillenniumEnvironment()
+   {
+      return millenniumEnvironment;
+   }
+
+   /**
+    * @return the device name
+    */
+   public String getDeviceName()
+   {
+      return deviceName;
+   }
+
+   /**
+    * @return the name of the logical domain or an empty string
+    */
+   public String getLogicalDomain()
+   {
+      return logicalDomain;
+   }
+
+   /**
+    * @return the hash of the values, in hexadecimal
+    */
+   public String getFingerprint()
+   {
+      return fingerprint;
+   }
+}
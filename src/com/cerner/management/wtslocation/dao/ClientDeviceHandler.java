@@ -0,0 +1,25 @@
+/*
+ * File: ClientDeviceHandler.java
+ * Package: com.cerner.management.wtslocation.dao
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao;
+
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.wtslocation.ClientDevice;
+
+/**
+ * Receives client devices one at a time while they are read from the database, so the caller does
+ * not have to hold every device in memory.
+ */
+public interface ClientDeviceHandler
+{
+   /**
+    * Called once for each device, in the order the rows are read.
+    * 
+    * @param device
+    * @throws ManagementException to stop reading the devices
+    */
+   public void handleClientDevice(ClientDevice device) throws ManagementException;
+}
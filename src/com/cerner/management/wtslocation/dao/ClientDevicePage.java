@@ -0,0 +1,80 @@
+/*
+ * File: ClientDevicePage.java
+ * Package: com.cerner.management.wtslocation.dao
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao;
+
+import com.cerner.management.wtslocation.ClientDevice;
+
+/**
+ * A page of client devices ordered by client name, client mnemonic, Millennium environment and
+ * logical domain id, together with the key of the last row so the next page can continue after it.
+ */
+public class ClientDevicePage
+{
+   private final ClientDevice[] devices;
+   private final String lastDeviceName;
+   private final String lastClientMnemonic;
+   private final String lastMillenniumEnvironment;
+   private final String lastLogicalDomainId;
+
+   /**
+    * @param devices
+    * @param lastDeviceName the client name of the last row, as stored in the database
+    * @param lastClientMnemonic the client mnemonic of the last row, as stored in the database
+    * @param lastMillenniumEnvironment the Millennium environment of the last row, as stored in the
+    *           database
+    * @param lastLogicalDomainId the logical domain id of the last row, which may be null
+    */
+   public ClientDevicePage(ClientDevice[] devices, String lastDeviceName, String lastClientMnemonic,
+      String lastMillenniumEnvironment, String lastLogicalDomainId)
+   {
+      this.devices = devices;
+      this.lastDeviceName = lastDeviceName;
+      this.lastClientMnemonic = lastClientMnemonic;
+      this.lastMillenniumEnvironment = lastMillenniumEnvironment;
+      this.lastLogicalDomainId = lastLogicalDomainId;
+   }
+
+   /**
+    * @return the devices of the page
+    */
+   public ClientDevice[] getDevices()
+   {
+      return devices;
+   }
+
+   /**
+    * @return the client name of the last row or null if the page is empty
+    */
+   public String getLastDeviceName()
+   {
+      return lastDeviceName;
+   }
+
+   /**
+    * @return the client mnemonic of the last row
+    */
+   public String getLastClientMnemonic()
+   {
+      return lastClientMnemonic;
+   }
+
+   /**
+    * @return the Millennium environment of the last row
+    */
+   public String getLastMillenniumEnvironment()
+   {
+      return lastMillenniumEnvironment;
+   }
+
+   /**
+    * @return the logical domain id of the last row, which may be null
+    */
+   public String getLastLogicalDomainId()
+   {
+      return lastLogicalDomainId;
+   }
+}
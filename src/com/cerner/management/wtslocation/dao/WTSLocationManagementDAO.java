@@ -1,176 +1,282 @@
-/*
- * File: WTSLocationManagementDAO.java
- * Package: com.cerner.management.mbean.wtslocation.dao
- * Project: management-wtslocation
- */
-
-package com.cerner.management.wtslocation.dao;
-
-import java.util.Map;
-
-import com.cerner.management.data.dao.DAOException;
-import com.cerner.management.data.dao.ManagementDAO;
-import com.cerner.management.exception.ManagementException;
-import com.cerner.management.wtslocation.BoundedClientDevice;
-import com.cerner.management.wtslocation.ClientDevice;
-import com.cerner.management.wtslocation.ClientDeviceFilter;
-import com.cerner.management.wtslocation.ClientDeviceKey;
-
-/**
- * Management DAO for maintaining WTSLocation.
- */
-public interface WTSLocationManagementDAO extends ManagementDAO
-{
-   /**
-    * Retrieve a client device in the environment.
-    * 
-    * @param deviceName
-    * @param clientMnemonic
-    * @param millenniumEnvironment
-    * @return a client device
-    * @throws DAOException
-    */
-   public ClientDevice getClientDevice(String deviceName, String clientMnemonic, String millenniumEnvironment) throws DAOException;
-   
-   /**
-    * Retrieve a client device in the environment.
-    * 
-    * @param deviceName
-    * @param clientMnemonic
-    * @param logicalDomainId
-    * @param millenniumEnvironment
-    * @return a client device
-    * @throws DAOException
-    */
-   public ClientDevice getClientDevice(String deviceName, String clientMnemonic, Long logicalDomainId, String millenniumEnvironment) throws DAOException;
-
-   /**
-    * Retrieves all client devices in the environment.
-    * 
-    * @param clientMnemonic
-    * @param millenniumEnvironment
-    * @return an array of client devices
-    * @throws DAOException
-    */
-   public ClientDevice[] getClientDevices(String clientMnemonic, String millenniumEnvironment)
-      throws DAOException;
-
-   /**
-    * Retrieves the keys that represent the client devices
-    * 
-    * @param clientMnemonic
-    * @param millenniumEnvironment
-    * @return the client device keys
-    * @throws DAOException
-    */
-   public ClientDeviceKey[] getClientDeviceKeys(String clientMnemonic, String millenniumEnvironment) throws DAOException;
-
-   /**
-    * Retrieves a wrapper for a limited number of client devices.
-    * 
-    * @param filter
-    * @param clientMnemonic
-    * @param millenniumEnvironment
-    * @return the wrapped client devices
-    * @throws DAOException
-    */
-   public BoundedClientDevice getBoundedClientDevices(ClientDeviceFilter filter, String clientMnemonic,
-      String millenniumEnvironment) throws DAOException;
-
-   /**
-    * Adds a device to the database.
-    * 
-    * @param device The device to add
-    * @param clientMnemonic
-    * @param millenniumEnvironment
-    * 
-    * @throws DAOException
-    */
-   public void addClientDevice(ClientDevice device, String clientMnemonic, String millenniumEnvironment)
-      throws DAOException;
-
-   /**
-    * Updates a device in the database.
-    * 
-    * @param device The device to update
-    * @param clientMnemonic the client mnemonic of the device
-    * 
-    * @throws DAOException
-    */
-   public void updateClientDevice(ClientDevice device, String clientMnemonic) throws DAOException;
-
-   /**
-    * Deletes a device from the database.
-    * 
-    * @param device The client device to delete
-    * 
-    * @throws DAOException
-    */
-   public void deleteClientDevice(ClientDevice device) throws DAOException;
-
-   /**
-    * Retrieves the column names from the client device table
-    * 
-    * @return the names of the columns
-    * @throws DAOException
-    */
-   public String[] getClientDeviceTableColumns() throws DAOException;
-   
-   /**
-    * This method returns a map of WTS database columns to their corresponding Registry Keys.
-    * 
-    * @return Map where key is the database column and value registry entry.
-    * @throws DAOException
-    */
-   public Map<String,String> getColumnRegistryMapping() throws DAOException;
-
-   /**
-    * This method checks to see if The Column Registry mapping table exists
-    * @return true if the table exists otherwise false;
-    * @throws ManagementException 
-    */
-   public boolean columnRegistryTableExists() throws ManagementException;
-   
-   /**
-    * Adds multiple devices in one query
-    * 
-    * @param devices The devices to add
-    * @param clientMnemonic the mnemonic of the devices
-    * @param millenniumEnvironment the millennium environment in which to add the devices
-    * @throws DAOException
-    */
-   public void batchAddClientDevices(ClientDevice[] devices, String clientMnemonic, String millenniumEnvironment) throws DAOException;
-   
-   /**
-    * Updates multiple devices in one query 
-    * 
-    * @param devices The devices to update
-    * @param clientMnemonic the mnemonic of the devices
-    * @return the success or failure of each device update
-    * @throws DAOException
-    */
-   public int[] batchUpdateClientDevices(ClientDevice[] devices, String clientMnemonic) throws DAOException;
-   
-   /**
-    * Updates the logical domain for a device
-    * @param deviceName The device to update
-    * @param clientMnemonic The client mnemonic for the device being updated
-    * @param domain The domain for the device being updated
-    * @param oldLogicalDomain The old logical domain of the device
-    * @param newLogicalDomain The new logical domain of the device
-    * @throws DAOException
-    */
-   public void updateLogicalDomain(String deviceName, String clientMnemonic, String domain, String oldLogicalDomain, String newLogicalDomain) throws DAOException;
-   
-   /**
-    * Retrieves all the client devices that match a client mnemonic and Millennium environment (domain) that are between two offsets. Used to paginate the results.
-    * 
-    * @param clientMnemonic
-    * @param millenniumEnvironment
-    * @param startOffset
-    * @param endOffset
-    * @return The devices that match the mnemonic and envrionment within the offsets
-    * @throws DAOException 
-    */
-   public ClientDevice[] getClientDevices(String clientMnemonic, String millenniumEnvironment, int startOffset, int endOffset) throws DAOException;
-}
+/*
+ * File: WTSLocationManagementDAO.java
+ * Package: com.cerner.management.mbean.wtslocation.dao
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao;
+
+import java.util.Date;
+import java.util.Map;
+
+import com.cerner.management.data.dao.DAOException;
+import com.cerner.management.data.dao.ManagementDAO;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.wtslocation.BoundedClientDevice;
+import com.cerner.management.wtslocation.ClientDevice;
+import com.cerner.management.wtslocation.ClientDeviceFilter;
+import com.cerner.management.wtslocation.ClientDeviceKey;
+
+/**
+ * Management DAO for maintaining WTSLocation.
+ */
+public interface WTSLocationManagementDAO extends ManagementDAO
+{
+   /**
+    * Retrieve a client device in the environment.
+    * 
+    * @param deviceName
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @return a client device
+    * @throws DAOException
+    */
+   public ClientDevice getClientDevice(String deviceName, String clientMnemonic, String millenniumEnvironment) throws DAOException;
+   
+   /**
+    * Retrieve a client device in the environment.
+    * 
+    * @param deviceName
+    * @param clientMnemonic
+    * @param logicalDomainId
+    * @param millenniumEnvironment
+    * @return a client device
+    * @throws DAOException
+    */
+   public ClientDevice getClientDevice(String deviceName, String clientMnemonic, Long logicalDomainId, String millenniumEnvironment) throws DAOException;
+
+   /**
+    * Retrieves all client devices in the environment.
+    * 
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @return an array of client devices
+    * @throws DAOException
+    */
+   public ClientDevice[] getClientDevices(String clientMnemonic, String millenniumEnvironment)
+      throws DAOException;
+
+   /**
+    * Retrieves the keys that represent the client devices
+    * 
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @return the client device keys
+    * @throws DAOException
+    */
+   public ClientDeviceKey[] getClientDeviceKeys(String clientMnemonic, String millenniumEnvironment) throws DAOException;
+
+   /**
+    * Retrieves a wrapper for a limited number of client devices.
+    * 
+    * @param filter
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @return the wrapped client devices
+    * @throws DAOException
+    */
+   public BoundedClientDevice getBoundedClientDevices(ClientDeviceFilter filter, String clientMnemonic,
+      String millenniumEnvironment) throws DAOException;
+
+   /**
+    * Adds a device to the database.
+    * 
+    * @param device The device to add
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * 
+    * @throws DAOException
+    */
+   public void addClientDevice(ClientDevice device, String clientMnemonic, String millenniumEnvironment)
+      throws DAOException;
+
+   /**
+    * Updates a device in the database.
+    * 
+    * @param device The device to update
+    * @param clientMnemonic the client mnemonic of the device
+    * 
+    * @throws DAOException
+    */
+   public void updateClientDevice(ClientDevice device, String clientMnemonic) throws DAOException;
+
+   /**
+    * Deletes a device from the database.
+    * 
+    * @param device The client device to delete
+    * 
+    * @throws DAOException
+    */
+   public void deleteClientDevice(ClientDevice device) throws DAOException;
+
+   /**
+    * Retrieves the column names from the client device table
+    * 
+    * @return the names of the columns
+    * @throws DAOException
+    */
+   public String[] getClientDeviceTableColumns() throws DAOException;
+   
+   /**
+    * This method returns a map of WTS database columns to their corresponding Registry Keys.
+    * 
+    * @return Map where key is the database column and value registry entry.
+    * @throws DAOException
+    */
+   public Map<String,String> getColumnRegistryMapping() throws DAOException;
+
+   /**
+    * This method checks to see if The Column Registry mapping table exists
+    * @return true if the table exists otherwise false;
+    * @throws ManagementException 
+    */
+   public boolean columnRegistryTableExists() throws ManagementException;
+   
+   /**
+    * Adds multiple devices in one query
+    * 
+    * @param devices The devices to add
+    * @param clientMnemonic the mnemonic of the devices
+    * @param millenniumEnvironment the millennium environment in which to add the devices
+    * @throws DAOException
+    */
+   public void batchAddClientDevices(ClientDevice[] devices, String clientMnemonic, String millenniumEnvironment) throws DAOException;
+   
+   /**
+    * Updates multiple devices in one query 
+    * 
+    * @param devices The devices to update
+    * @param clientMnemonic the mnemonic of the devices
+    * @return the success or failure of each device update
+    * @throws DAOException
+    */
+   public int[] batchUpdateClientDevices(ClientDevice[] devices, String clientMnemonic) throws DAOException;
+
+   /**
+    * Adds the devices that do not exist and updates the ones that do in one statement per device.
+    * A stored device is only updated if its fingerprint over the attribute columns differs.
+    * 
+    * @param devices The devices to merge, all with the same attributes
+    * @param attributeNames the attribute columns the fingerprints are computed over
+    * @param clientMnemonic the mnemonic of the devices
+    * @param millenniumEnvironment the environment of the devices
+    * @return for each device, 0 if it was left unchanged, the number of rows written, or
+    *         {@link java.sql.Statement#SUCCESS_NO_INFO} if the driver did not report it
+    * @throws DAOException
+    */
+   public int[] mergeClientDevices(ClientDevice[] devices, String[] attributeNames, String clientMnemonic, String millenniumEnvironment) throws DAOException;
+   
+   /**
+    * Updates the logical domain for a device
+    * @param deviceName The device to update
+    * @param clientMnemonic The client mnemonic for the device being updated
+    * @param domain The domain for the device being updated
+    * @param oldLogicalDomain The old logical domain of the device
+    * @param newLogicalDomain The new logical domain of the device
+    * @throws DAOException
+    */
+   public void updateLogicalDomain(String deviceName, String clientMnemonic, String domain, String oldLogicalDomain, String newLogicalDomain) throws DAOException;
+   
+   /**
+    * Retrieves all the client devices that match a client mnemonic and Millennium environment (domain) that are between two offsets. Used to paginate the results.
+    * 
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param startOffset
+    * @param endOffset
+    * @return The devices that match the mnemonic and envrionment within the offsets
+    * @throws DAOException 
+    */
+   public ClientDevice[] getClientDevices(String clientMnemonic, String millenniumEnvironment, int startOffset, int endOffset) throws DAOException;
+   
+   /**
+    * Retrieves the number of single device lookups that waited for an identical lookup already in
+    * progress instead of querying the database themselves.
+    * 
+    * @return the number of coalesced lookups since the DAO was created
+    */
+   public long getCoalescedLookupCount();
+
+   /**
+    * Retrieves several client devices by name. The names are queried in chunks, one round trip per
+    * chunk.
+    * 
+    * @param deviceNames
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @return the devices in the order of the names, with null for each device that was not found
+    * @throws DAOException
+    */
+   public ClientDevice[] getClientDevices(String[] deviceNames, String clientMnemonic, String millenniumEnvironment) throws DAOException;
+
+   /**
+    * Retrieves the client devices whose names are in a list, in every logical domain and for every
+    * client mnemonic that starts with the given one, like
+    * {@link #getClientDevices(String, String)} does for the whole environment.
+    * 
+    * @param deviceNames
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @return the devices found
+    * @throws DAOException
+    */
+   public ClientDevice[] getMatchingClientDevices(String[] deviceNames, String clientMnemonic, String millenniumEnvironment) throws DAOException;
+
+   /**
+    * Retrieves the fingerprints of the same client devices as
+    * {@link #getMatchingClientDevices(String[], String, String)}, computed by the database over the
+    * attribute columns and the default and device locations without reading the rows.
+    * 
+    * @param deviceNames
+    * @param attributeNames the attribute columns to hash
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @return the fingerprints found
+    * @throws DAOException
+    */
+   public ClientDeviceFingerprint[] getClientDeviceFingerprints(String[] deviceNames, String[] attributeNames, String clientMnemonic, String millenniumEnvironment) throws DAOException;
+
+   /**
+    * Computes the fingerprint of a device the way the database computes the fingerprints of
+    * {@link #getClientDeviceFingerprints(String[], String[], String, String)}.
+    * 
+    * @param device
+    * @param attributeNames the attribute columns hashed by the database
+    * @return the fingerprint of the device
+    */
+   public String getClientDeviceFingerprint(ClientDevice device, String[] attributeNames);
+
+   /**
+    * Retrieves a page of the client devices that match a client mnemonic and Millennium environment
+    * (domain), ordered by client name, client mnemonic, Millennium environment and logical domain
+    * id. Each page continues after the last row of the previous page, so the rows before it do not
+    * have to be read again.
+    * 
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param previous the previous page or null for the first page
+    * @param pageSize the maximum number of devices in the page
+    * @return the page, which is empty once every device has been read
+    * @throws DAOException
+    */
+   public ClientDevicePage getClientDevicePage(String clientMnemonic, String millenniumEnvironment, ClientDevicePage previous, int pageSize) throws DAOException;
+
+   /**
+    * Reads every client device that matches a client mnemonic and Millennium environment (domain)
+    * with a single cursor, ordered by client name and logical domain id, and passes each one to the
+    * handler as it is read. A filter restricts the devices as for
+    * {@link #getBoundedClientDevices(ClientDeviceFilter, String, String)}, without limiting their
+    * number. When an update time is given only the devices updated at or after it are read, unless
+    * the table has no UPDT_DT_TM column.
+    * 
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param filter the filter of the devices to read or null for every device
+    * @param updatedSince the earliest update time of the devices to read or null for every device
+    * @param handler receives each device
+    * @return the number of devices read
+    * @throws DAOException
+    */
+   public long streamClientDevices(String clientMnemonic, String millenniumEnvironment, ClientDeviceFilter filter,
+      Date updatedSince, ClientDeviceHandler handler) throws DAOException;
+}
@@ -0,0 +1,197 @@
+/*
+ * File: ClientDeviceCache.java
+ * Package: com.cerner.management.wtslocation.dao.impl
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.cerner.management.wtslocation.ClientDevice;
+
+/**
+ * A bounded read-through cache for single {@link ClientDevice} lookups. Entries expire after a time
+ * to live and the least recently used entry is evicted once the cache is full. Lookups that found no
+ * device are cached as well, so repeated lookups of unknown devices do not reach the database.
+ */
+class ClientDeviceCache
+{
+   private static final String MAX_ENTRIES_PROPERTY = "com.cerner.management.wtslocation.device.cache.max.entries";
+   private static final String TIME_TO_LIVE_PROPERTY = "com.cerner.management.wtslocation.device.cache.ttl";
+
+   private final int maxEntries = Integer.getInteger(MAX_ENTRIES_PROPERTY, 10000);
+
+   // 5 minute time to live
+   private final long timeToLive = Long.getLong(TIME_TO_LIVE_PROPERTY, 1000 * 60 * 5);
+
+   private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true)
+   {
+      private static final long serialVersionUID = 3458209374508162377L;
+
+      protected boolean removeEldestEntry(Map.Entry<Key, ClientDeviceCache.Entry> eldest)
+      {
+         return size() > maxEntries;
+      }
+   };
+
+   // incremented on every invalidation so loads that started before a write are not cached
+   private long generation = 0;
+
+   /**
+    * @param key
+    * @return the cached entry or null if there is no entry or it has expired
+    */
+   synchronized Entry get(Key key)
+   {
+      Entry entry = entries.get(key);
+      if (entry != null && entry.expires < System.currentTimeMillis())
+      {
+         entries.remove(key);
+         entry = null;
+      }
+
+      return entry;
+   }
+
+   /**
+    * @return the current generation, to be passed to {@link #put(Key, ClientDevice, long)} once the
+    *         device has been loaded
+    */
+   synchronized long getGeneration()
+   {
+      return generation;
+   }
+
+   /**
+    * Caches the result of a lookup unless the cache was invalidated while the device was loaded.
+    *
+    * @param key
+    * @param device the device or null if it was not found
+    * @param loadGeneration the generation read before the device was loaded
+    */
+   synchronized void put(Key key, ClientDevice device, long loadGeneration)
+   {
+      if (maxEntries > 0 && timeToLive > 0 && loadGeneration == generation)
+      {
+         entries.put(key, new Entry(device, System.currentTimeMillis() + timeToLive));
+      }
+   }
+
+   /**
+    * Removes every entry for a device name regardless of client mnemonic or logical domain.
+    *
+    * @param deviceName
+    */
+   synchronized void invalidate(String deviceName)
+   {
+      generation++;
+
+      if (deviceName == null)
+      {
+         return;
+      }
+
+      String name = deviceName.trim();
+      Iterator<Key> iterator = entries.keySet().iterator();
+      while (iterator.hasNext())
+      {
+         Key key = iterator.next();
+         if (key.deviceName != null && key.deviceName.trim().equalsIgnoreCase(name))
+         {
+            iterator.remove();
+         }
+      }
+   }
+
+   /**
+    * Removes every entry
+    */
+   synchronized void clear()
+   {
+      generation++;
+      entries.clear();
+   }
+
+   /**
+    * A cached lookup result
+    */
+   static class Entry
+   {
+      private final ClientDevice device;
+      private final long expires;
+
+      private Entry(ClientDevice device, long expires)
+      {
+         this.device = device;
+         this.expires = expires;
+      }
+
+      /**
+       * @return the device or null if the lookup did not find one
+       */
+      ClientDevice getDevice()
+      {
+         return device;
+      }
+   }
+
+   /**
+    * The identity of a single device lookup
+    */
+   static class Key
+   {
+      private final String deviceName;
+      private final String clientMnemonic;
+      private final String millenniumEnvironment;
+      private final long logicalDomainId;
+      private final int hash;
+
+      /**
+       * @param deviceName
+       * @param clientMnemonic
+       * @param logicalDomainId the id of the logical domain or null for no logical domain
+       * @param millenniumEnvironment
+       */
+      Key(String deviceName, String clientMnemonic, Long logicalDomainId, String millenniumEnvironment)
+      {
+         this.deviceName = deviceName;
+         this.clientMnemonic = clientMnemonic != null ? clientMnemonic.toLowerCase() : null;
+         this.millenniumEnvironment = millenniumEnvironment != null ? millenniumEnvironment.toLowerCase() : null;
+         this.logicalDomainId = logicalDomainId != null ? logicalDomainId : -1l;
+
+         int result = 1;
+         result = 31 * result + (this.deviceName == null ? 0 : this.deviceName.hashCode());
+         result = 31 * result + (this.clientMnemonic == null ? 0 : this.clientMnemonic.hashCode());
+         result = 31 * result + (this.millenniumEnvironment == null ? 0 : this.millenniumEnvironment.hashCode());
+         result = 31 * result + (int) (this.logicalDomainId ^ (this.logicalDomainId >>> 32));
+         this.hash = result;
+      }
+
+      @Override
+      public int hashCode()
+      {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object o)
+      {
+         if (!(o instanceof Key))
+         {
+            return false;
+         }
+
+         Key key = (Key) o;
+         return logicalDomainId == key.logicalDomainId && equal(deviceName, key.deviceName)
+            && equal(clientMnemonic, key.clientMnemonic) && equal(millenniumEnvironment, key.millenniumEnvironment);
+      }
+
+      private static boolean equal(String s1, String s2)
+      {
+         return s1 == null ? s2 == null : s1.equals(s2);
+      }
+   }
+}
@@ -0,0 +1,138 @@
+/*
+ * File: ClientDeviceFilterClause.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.TimeZone;
+
+import com.cerner.management.data.sql.SQLTimestampUtil;
+import com.cerner.management.wtslocation.ClientDeviceFilter;
+
+/**
+ * Builds the predicates of a {@link ClientDeviceFilter} for the where clause of a client device
+ * query, together with the values to bind for them. Only one of the attribute, device name, default
+ * location, device location, logical domain or last updated by filters applies, in that order, and
+ * the update time range applies on top of it.
+ */
+class ClientDeviceFilterClause
+{
+   private final StringBuffer clause = new StringBuffer();
+
+   private String value = null;
+   private Timestamp startUpdtDtTmValue = null;
+   private Timestamp endUpdtDtTmValue = null;
+
+   /**
+    * @param filter the filter or null for no predicates
+    * @param updtDtTmExists true if the table has an UPDT_DT_TM column
+    * @param lastUpdatedByExists true if the table has a LAST_UPDATED_BY column
+    * @param oracle true if the last updated by value is compared case insensitively
+    */
+   ClientDeviceFilterClause(ClientDeviceFilter filter, boolean updtDtTmExists, boolean lastUpdatedByExists,
+      boolean oracle)
+   {
+      if (filter == null)
+      {
+         return;
+      }
+
+      if (filter.getAttributeName() != null)
+      {
+         clause.append("and lower(");
+         clause.append(filter.getAttributeName());
+         clause.append(") ");
+         clause.append(filter.getOperator());
+         clause.append(" lower(?)");
+
+         value = filter.getAttributeValue();
+      }
+      else if (filter.getDeviceName() != null)
+      {
+         clause.append("and lower(clientname) ");
+         clause.append(filter.getOperator());
+         clause.append(" lower(?)");
+
+         value = filter.getDeviceName();
+      }
+      else if (filter.getDefaultLocation() != null)
+      {
+         clause.append("and lower(Default_Location) ");
+         clause.append(filter.getOperator());
+         clause.append(" lower(?)");
+
+         value = filter.getDefaultLocation();
+      }
+      else if (filter.getDeviceLocation() != null)
+      {
+         clause.append("and lower(Device_Location) ");
+         clause.append(filter.getOperator());
+         clause.append(" lower(?)");
+
+         value = filter.getDeviceLocation();
+      }
+      else if (filter.getLogicalDomain() != null)
+      {
+         clause.append("and logical_domain_id ");
+         clause.append(filter.getOperator());
+         clause.append(" ?");
+
+         value = filter.getLogicalDomain();
+      }
+      else if (lastUpdatedByExists && filter.getLastUpdatedBy() != null)
+      {
+         clause.append("and lower(Last_Updated_By) ");
+         clause.append(filter.getOperator());
+         clause.append(oracle ? " lower(?)" : " ?");
+
+         value = filter.getLastUpdatedBy();
+      }
+
+      Long startUpdtDtTm = filter.getStartUpdtDtTm();
+      Long endUpdtDtTm = filter.getEndUpdtDtTm();
+      if (updtDtTmExists && startUpdtDtTm != null && startUpdtDtTm != 0 && endUpdtDtTm != null && endUpdtDtTm != 0)
+      {
+         clause.append(" and Updt_Dt_Tm >= ? and Updt_Dt_Tm < ?");
+
+         startUpdtDtTmValue = SQLTimestampUtil.getTimestamp(new java.util.Date(startUpdtDtTm * 1000),
+            TimeZone.getTimeZone("UTC"));
+         endUpdtDtTmValue = SQLTimestampUtil.getTimestamp(new java.util.Date(endUpdtDtTm * 1000),
+            TimeZone.getTimeZone("UTC"));
+      }
+   }
+
+   /**
+    * @return the predicates, each starting with "and", or an empty string
+    */
+   String getClause()
+   {
+      return clause.toString();
+   }
+
+   /**
+    * Binds the values of the predicates.
+    *
+    * @param stmt
+    * @param index the parameter index of the first predicate
+    * @return the next parameter index
+    * @throws SQLException
+    */
+   int bind(PreparedStatement stmt, int index) throws SQLException
+   {
+      if (value != null)
+      {
+         stmt.setString(index++, value);
+      }
+      if (startUpdtDtTmValue != null)
+      {
+         stmt.setTimestamp(index++, startUpdtDtTmValue);
+         stmt.setTimestamp(index++, endUpdtDtTmValue);
+      }
+      return index;
+   }
+}
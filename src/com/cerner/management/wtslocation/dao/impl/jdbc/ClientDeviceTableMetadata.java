@@ -0,0 +1,104 @@
+/*
+ * File: ClientDeviceTableMetadata.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.cerner.management.wtslocation.Column;
+
+/**
+ * An immutable snapshot of the columns of the locations table for a single datastore
+ */
+public class ClientDeviceTableMetadata
+{
+   private static final Column UPDT_DT_TM_COLUMN = new Column("UPDT_DT_TM");
+   private static final Column LAST_UPDATED_BY_COLUMN = new Column("Last_Updated_By");
+
+   private final String[] columnNames;
+   private final List<Column> columns;
+   private final boolean updtDtTmExists;
+   private final boolean lastUpdatedByExists;
+   private final long loadTime;
+
+   /**
+    * @param columnNames the upper cased column names of the locations table
+    */
+   public ClientDeviceTableMetadata(String[] columnNames)
+   {
+      this.columnNames = columnNames.clone();
+
+      Column[] array = new Column[columnNames.length];
+      for (int i = 0; i < columnNames.length; i++)
+      {
+         array[i] = new Column(columnNames[i]);
+      }
+      this.columns = Collections.unmodifiableList(Arrays.asList(array));
+
+      this.updtDtTmExists = columns.contains(UPDT_DT_TM_COLUMN);
+      this.lastUpdatedByExists = columns.contains(LAST_UPDATED_BY_COLUMN);
+      this.loadTime = System.currentTimeMillis();
+   }
+
+   /**
+    * @return a copy of the column names of the locations table
+    */
+   public String[] getColumnNames()
+   {
+      return columnNames.clone();
+   }
+
+   /**
+    * @return the columns of the locations table
+    */
+   public List<Column> getColumns()
+   {
+      return columns;
+   }
+
+   /**
+    * @return the number of columns in the locations table
+    */
+   public int getColumnCount()
+   {
+      return columnNames.length;
+   }
+
+   /**
+    * @param columnName
+    * @return true if the locations table contains the column, ignoring case
+    */
+   public boolean containsColumn(String columnName)
+   {
+      return columns.contains(new Column(columnName));
+   }
+
+   /**
+    * @return true if the UPDT_DT_TM column exists
+    */
+   public boolean isUpdtDtTmExists()
+   {
+      return updtDtTmExists;
+   }
+
+   /**
+    * @return true if the Last_Updated_By column exists
+    */
+   public boolean isLastUpdatedByExists()
+   {
+      return lastUpdatedByExists;
+   }
+
+   /**
+    * @return the time in milliseconds the metadata was read from the database
+    */
+   public long getLoadTime()
+   {
+      return loadTime;
+   }
+}
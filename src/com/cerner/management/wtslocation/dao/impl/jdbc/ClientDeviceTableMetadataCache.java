@@ -0,0 +1,198 @@
+/*
+ * File: ClientDeviceTableMetadataCache.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.cerner.management.data.sql.SQLTransaction;
+import com.cerner.management.data.sql.SQLTransactionFactory;
+import com.cerner.management.data.sql.impl.JDBCConnection;
+import com.cerner.management.datastore.DataStoreConfig;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.wtslocation.CacheRefreshScheduler;
+
+/**
+ * A cache of the {@link ClientDeviceTableMetadata} for a datastore. The metadata is loaded once and
+ * then reloaded after the refresh rate expires or when a change to the table definition is detected.
+ * The {@link CacheRefreshScheduler} reloads it in the background before it expires.
+ */
+public class ClientDeviceTableMetadataCache
+{
+   private static Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation.dao.impl.jdbc");
+
+   private static final String REFRESH_RATE_PROPERTY = "com.cerner.management.wtslocation.columns.refresh.rate";
+
+   // 15 minute refresh rate
+   private static final long REFRESH_RATE = Long.getLong(REFRESH_RATE_PROPERTY, 1000 * 60 * 15);
+
+   // the caches by datastore name, and the config each cache currently reads through
+   private static Map<String, ClientDeviceTableMetadataCache> named = new HashMap<String, ClientDeviceTableMetadataCache>();
+   private static Map<DataStoreConfig, ClientDeviceTableMetadataCache> instances = new IdentityHashMap<DataStoreConfig, ClientDeviceTableMetadataCache>();
+
+   private volatile DataStoreConfig config;
+   private volatile ClientDeviceTableMetadata metadata;
+
+   /**
+    * @param config the datastore the locations table belongs to
+    * @return the instance of the cache for the datastore. A config that was replaced by a later one
+    *         of the same datastore gets a cache of its own that is not kept.
+    */
+   public synchronized static ClientDeviceTableMetadataCache getInstance(DataStoreConfig config)
+   {
+      ClientDeviceTableMetadataCache cache = instances.get(config);
+      return cache != null ? cache : new ClientDeviceTableMetadataCache(config);
+   }
+
+   /**
+    * Creates the cache of a datastore, or points the existing cache of the datastore at a new config
+    * of it, so reloading the configuration neither adds caches nor refreshes.
+    *
+    * @param config the datastore the locations table belongs to
+    * @param name the name of the datastore, also shown in the refresh statistics
+    * @return the instance of the cache for the datastore
+    */
+   public synchronized static ClientDeviceTableMetadataCache getInstance(DataStoreConfig config, String name)
+   {
+      ClientDeviceTableMetadataCache cache = instances.get(config);
+      if (cache == null)
+      {
+         cache = named.get(name);
+         if (cache == null)
+         {
+            cache = new ClientDeviceTableMetadataCache(config);
+            named.put(name, cache);
+
+            CacheRefreshScheduler.getInstance().register("ClientDeviceTableMetadataCache " + name,
+               REFRESH_RATE_PROPERTY, REFRESH_RATE, cache::refresh);
+         }
+         else
+         {
+            instances.remove(cache.config);
+            cache.config = config;
+            cache.metadata = null;
+         }
+         instances.put(config, cache);
+      }
+
+      return cache;
+   }
+
+   private ClientDeviceTableMetadataCache(DataStoreConfig config)
+   {
+      this.config = config;
+   }
+
+   /**
+    * Retrieves the metadata, loading it in its own transaction if it is missing or stale.
+    *
+    * @return the metadata of the locations table
+    * @throws ManagementException
+    */
+   public ClientDeviceTableMetadata getMetadata() throws ManagementException
+   {
+      ClientDeviceTableMetadata current = metadata;
+      if (isCurrent(current))
+      {
+         return current;
+      }
+
+      synchronized (this)
+      {
+         current = metadata;
+         if (!isCurrent(current))
+         {
+            current = load();
+         }
+      }
+
+      return current;
+   }
+
+   /**
+    * Reloads the metadata in its own transaction, keeping the current metadata if it cannot be read.
+    *
+    * @throws ManagementException
+    */
+   private void refresh() throws ManagementException
+   {
+      synchronized (this)
+      {
+         load();
+      }
+   }
+
+   private ClientDeviceTableMetadata load() throws ManagementException
+   {
+      SQLTransaction<String[]> transact = SQLTransactionFactory.getSQLTransaction(new WTSLocationColumnsDelegate());
+      transact.execute(config);
+
+      return update(transact.getResult());
+   }
+
+   /**
+    * Retrieves the metadata, loading it with a connection that is already open if it is missing or
+    * stale. This allows delegates to avoid a second transaction.
+    *
+    * @param connection an open connection to the datastore of this cache
+    * @return the metadata of the locations table
+    * @throws ManagementException
+    * @throws SQLException
+    */
+   public ClientDeviceTableMetadata getMetadata(JDBCConnection connection) throws ManagementException, SQLException
+   {
+      ClientDeviceTableMetadata current = metadata;
+      if (isCurrent(current))
+      {
+         return current;
+      }
+
+      synchronized (this)
+      {
+         current = metadata;
+         if (!isCurrent(current))
+         {
+            WTSLocationColumnsDelegate delegate = new WTSLocationColumnsDelegate();
+            delegate.executeTransaction(config, connection);
+
+            current = update(delegate.getResult());
+         }
+      }
+
+      return current;
+   }
+
+   /**
+    * Discards the cached metadata so that it is reloaded on the next request. Called when a change
+    * to the table definition is detected.
+    */
+   public void invalidate()
+   {
+      if (metadata != null)
+      {
+         logger.log(Level.INFO, "The definition of the locations table has changed. The column metadata will be reloaded.");
+      }
+      metadata = null;
+   }
+
+   private boolean isCurrent(ClientDeviceTableMetadata current)
+   {
+      return current != null && current.getLoadTime() + REFRESH_RATE >= System.currentTimeMillis();
+   }
+
+   private ClientDeviceTableMetadata update(String[] columns)
+   {
+      ClientDeviceTableMetadata updated = new ClientDeviceTableMetadata(columns != null ? columns : new String[0]);
+      metadata = updated;
+      return updated;
+   }
+}
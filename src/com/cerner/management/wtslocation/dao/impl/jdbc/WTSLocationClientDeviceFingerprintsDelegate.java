@@ -0,0 +1,301 @@
+/*
+ * File: WTSLocationClientDeviceFingerprintsDelegate.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import com.cerner.management.data.sql.SQLHelper;
+import com.cerner.management.data.sql.SQLTransactionDelegate;
+import com.cerner.management.data.sql.SQLTransactionFactory;
+import com.cerner.management.data.sql.impl.JDBCConnection;
+import com.cerner.management.datastore.DataStoreConfig;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.wtslocation.ClientDevice;
+import com.cerner.management.wtslocation.ClientDeviceAttribute;
+import com.cerner.management.wtslocation.LogicalDomainCache;
+import com.cerner.management.wtslocation.LogicalDomainResolver;
+import com.cerner.management.wtslocation.dao.ClientDeviceFingerprint;
+
+/**
+ * Delegate for retrieving the fingerprints of the client devices whose names are in a list, in every
+ * logical domain. A fingerprint is an MD5 hash computed by the database over the trimmed, lower case
+ * values of some attribute columns followed by the default and device locations.
+ * {@link #fingerprint(ClientDevice, String[], Charset)} computes the same hash for a device in
+ * memory, so a device whose fingerprints are equal has not changed and does not need to be read.
+ * The values are trimmed because they are written trimmed, and the import compares the devices it
+ * does read in the same way.
+ */
+public class WTSLocationClientDeviceFingerprintsDelegate implements SQLTransactionDelegate<ClientDeviceFingerprint[]>
+{
+   // logger
+   private static Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation.dao.impl.jdbc");
+
+   /**
+    * The encoding SQL Server hashes, the values are cast to nvarchar
+    */
+   public static final Charset CHARSET = StandardCharsets.UTF_16LE;
+
+   // stands in for a null value and separates the values
+   static final char NULL_VALUE = 30;
+   static final char SEPARATOR = 31;
+
+   private static final String DEFAULT_LOCATION = "DEFAULT_LOCATION";
+   private static final String DEVICE_LOCATION = "DEVICE_LOCATION";
+
+   private List<ClientDeviceFingerprint> results = new ArrayList<ClientDeviceFingerprint>();
+   protected String[] deviceNames;
+   protected String[] attributeNames;
+   protected String millenniumEnvironment;
+   protected String clientMnemonic;
+   protected int chunkSize;
+
+   /**
+    * @param deviceNames the names of the devices, without duplicates
+    * @param attributeNames the attribute columns to hash
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param chunkSize the maximum number of names bound to a single query
+    */
+   public WTSLocationClientDeviceFingerprintsDelegate(String[] deviceNames, String[] attributeNames,
+      String clientMnemonic, String millenniumEnvironment, int chunkSize)
+   {
+      if (chunkSize <= 0)
+      {
+         throw new IllegalArgumentException("The chunk size must be greater than zero");
+      }
+      for (String attributeName : attributeNames)
+      {
+         if (!attributeName.matches("\\w+"))
+         {
+            throw new IllegalArgumentException("Invalid attribute column name: " + attributeName);
+         }
+      }
+
+      this.deviceNames = deviceNames;
+      this.attributeNames = attributeNames;
+      this.clientMnemonic = clientMnemonic;
+      this.millenniumEnvironment = millenniumEnvironment;
+      this.chunkSize = chunkSize;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#executeTransaction(com.cerner.management.datastore.DataStoreConfig,
+    *      com.cerner.management.data.sql.impl.JDBCConnection)
+    */
+   public boolean executeTransaction(DataStoreConfig config, JDBCConnection connection) throws ManagementException,
+      SQLException
+   {
+      logger.entering(this.getClass().getName(), "executeTransaction");
+
+      String sql = SQLTransactionFactory.loadSQL(getClass(), getSqlStatementFile());
+
+      List<String> columns = new ArrayList<String>();
+      for (String attributeName : attributeNames)
+      {
+         columns.add(attributeName);
+      }
+      columns.add(DEFAULT_LOCATION);
+      columns.add(DEVICE_LOCATION);
+      String hashExpression = getHashExpression(columns);
+
+      LogicalDomainResolver resolver = LogicalDomainCache.getInstance(millenniumEnvironment).getResolver();
+      for (int start = 0; start < deviceNames.length; start += chunkSize)
+      {
+         int end = Math.min(start + chunkSize, deviceNames.length);
+
+         StringBuffer buffer = new StringBuffer();
+         for (int i = start; i < end; i++)
+         {
+            buffer.append(i == start ? "?" : ",?");
+         }
+
+         PreparedStatement stmt = null;
+         ResultSet resultSet = null;
+         try
+         {
+            stmt = connection.prepareStatement(MessageFormat.format(sql, new Object[]{hashExpression,
+               buffer.toString()}));
+
+            int index = 1;
+            for (int i = start; i < end; i++)
+            {
+               stmt.setString(index++, getNameParameter(deviceNames[i]));
+            }
+            stmt.setString(index++, clientMnemonic + "%");
+            stmt.setString(index++, millenniumEnvironment);
+
+            stmt.execute();
+
+            resultSet = stmt.getResultSet();
+            while (resultSet.next())
+            {
+               String mnemonic = resultSet.getString("clientmnemonic");
+               String environment = resultSet.getString("millenvironment");
+               String deviceName = resultSet.getString("clientname");
+               String logicalDomainId = resultSet.getString("logical_domain_id");
+               byte[] hash = resultSet.getBytes("fingerprint");
+
+               results.add(new ClientDeviceFingerprint(mnemonic, environment, deviceName != null ? deviceName.trim()
+                  : null, resolver.getLogicalDomainName(logicalDomainId), hash != null ? toHex(hash) : null));
+            }
+         }
+         finally
+         {
+            SQLHelper.safeCloseResultSet(resultSet);
+            SQLHelper.safeReleaseStatement(connection, stmt);
+         }
+      }
+
+      logger.exiting(this.getClass().getName(), "executeTransaction");
+      return true;
+   }
+
+   /**
+    * @return the file of the SQL statement
+    */
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getClientDeviceFingerprints.sql";
+   }
+
+   /**
+    * SQL Server compares the names with the case insensitive collation of the column, which keeps
+    * the index on the name usable.
+    *
+    * @param deviceName
+    * @return the value bound for the name
+    */
+   protected String getNameParameter(String deviceName)
+   {
+      return deviceName;
+   }
+
+   /**
+    * Builds the SQL Server expression that hashes the columns.
+    *
+    * @param columns
+    * @return the expression
+    */
+   protected String getHashExpression(List<String> columns)
+   {
+      return getSqlServerHashExpression(columns);
+   }
+
+   /**
+    * @param columns
+    * @return the SQL Server expression that hashes the columns
+    */
+   static String getSqlServerHashExpression(List<String> columns)
+   {
+      StringBuffer buffer = new StringBuffer("hashbytes('MD5', cast(");
+      for (int i = 0; i < columns.size(); i++)
+      {
+         if (i > 0)
+         {
+            buffer.append(" + char(" + (int) SEPARATOR + ") + ");
+         }
+         buffer.append("coalesce(lower(ltrim(rtrim(" + columns.get(i) + "))), char(" + (int) NULL_VALUE + "))");
+      }
+      buffer.append(" as nvarchar(max)))");
+      return buffer.toString();
+   }
+
+   /**
+    * Computes the fingerprint of a device the way the database does.
+    *
+    * @param device
+    * @param attributeNames the attribute columns hashed by the database
+    * @param charset the encoding the database hashes
+    * @return the hash of the values, in hexadecimal
+    */
+   public static String fingerprint(ClientDevice device, String[] attributeNames, Charset charset)
+   {
+      return toHex(digest(device, attributeNames, charset));
+   }
+
+   /**
+    * @param device
+    * @param attributeNames the attribute columns hashed by the database
+    * @param charset the encoding the database hashes
+    * @return the hash of the values
+    */
+   static byte[] digest(ClientDevice device, String[] attributeNames, Charset charset)
+   {
+      StringBuilder buffer = new StringBuilder();
+      for (String attributeName : attributeNames)
+      {
+         ClientDeviceAttribute attribute = device.getAttribute(attributeName);
+         appendValue(buffer, attribute != null ? attribute.getValue() : null);
+         buffer.append(SEPARATOR);
+      }
+      appendValue(buffer, device.getDefaultLocation());
+      buffer.append(SEPARATOR);
+      appendValue(buffer, device.getDeviceLocation());
+
+      try
+      {
+         return MessageDigest.getInstance("MD5").digest(buffer.toString().getBytes(charset));
+      }
+      catch (NoSuchAlgorithmException e)
+      {
+         // every Java platform implements MD5
+         throw new IllegalStateException(e);
+      }
+   }
+
+   private static void appendValue(StringBuilder buffer, String value)
+   {
+      if (value == null)
+      {
+         buffer.append(NULL_VALUE);
+      }
+      else
+      {
+         buffer.append(value.trim().toLowerCase(Locale.ROOT));
+      }
+   }
+
+   private static String toHex(byte[] bytes)
+   {
+      char[] digits = "0123456789abcdef".toCharArray();
+      char[] chars = new char[bytes.length * 2];
+      for (int i = 0; i < bytes.length; i++)
+      {
+         chars[i * 2] = digits[(bytes[i] >> 4) & 0xf];
+         chars[i * 2 + 1] = digits[bytes[i] & 0xf];
+      }
+      return new String(chars);
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getResult()
+    */
+   public ClientDeviceFingerprint[] getResult()
+   {
+      return results.toArray(new ClientDeviceFingerprint[results.size()]);
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getTransactionMode()
+    */
+   public int getTransactionMode()
+   {
+      return MODE_NO_COMMIT;
+   }
+}
@@ -0,0 +1,79 @@
+/*
+ * File: WTSLocationClientDeviceFingerprintsDelegateOracle.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Delegate for retrieving the fingerprints of client devices from Oracle, which hashes the values
+ * with standard_hash
+ */
+public class WTSLocationClientDeviceFingerprintsDelegateOracle extends WTSLocationClientDeviceFingerprintsDelegate
+{
+   /**
+    * The encoding Oracle hashes, the values are converted to AL32UTF8
+    */
+   public static final Charset CHARSET = StandardCharsets.UTF_8;
+
+   /**
+    * @param deviceNames the names of the devices, without duplicates
+    * @param attributeNames the attribute columns to hash
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param chunkSize the maximum number of names bound to a single query
+    */
+   public WTSLocationClientDeviceFingerprintsDelegateOracle(String[] deviceNames, String[] attributeNames,
+      String clientMnemonic, String millenniumEnvironment, int chunkSize)
+   {
+      super(deviceNames, attributeNames, clientMnemonic.toLowerCase(), millenniumEnvironment.toLowerCase(),
+         chunkSize);
+   }
+
+   @Override
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getClientDeviceFingerprintsOracle.sql";
+   }
+
+   /**
+    * Oracle compares names case sensitively, so the statement compares them in lower case.
+    *
+    * @see com.cerner.management.wtslocation.dao.impl.jdbc.WTSLocationClientDeviceFingerprintsDelegate#getNameParameter(java.lang.String)
+    */
+   @Override
+   protected String getNameParameter(String deviceName)
+   {
+      return deviceName.toLowerCase();
+   }
+
+   @Override
+   protected String getHashExpression(List<String> columns)
+   {
+      return getOracleHashExpression(columns);
+   }
+
+   /**
+    * @param columns
+    * @return the Oracle expression that hashes the columns
+    */
+   static String getOracleHashExpression(List<String> columns)
+   {
+      StringBuffer buffer = new StringBuffer("standard_hash(utl_raw.cast_to_raw(convert(");
+      for (int i = 0; i < columns.size(); i++)
+      {
+         if (i > 0)
+         {
+            buffer.append(" || chr(" + (int) SEPARATOR + ") || ");
+         }
+         buffer.append("nvl(lower(trim(" + columns.get(i) + ")), chr(" + (int) NULL_VALUE + "))");
+      }
+      buffer.append(", 'AL32UTF8')), 'MD5')");
+      return buffer.toString();
+   }
+}
@@ -0,0 +1,157 @@
+/*
+ * File: WTSLocationClientDevicesByNameDelegate.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import com.cerner.management.data.sql.SQLHelper;
+import com.cerner.management.data.sql.SQLTransactionFactory;
+import com.cerner.management.data.sql.impl.JDBCConnection;
+import com.cerner.management.datastore.DataStoreConfig;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.wtslocation.ClientDevice;
+
+/**
+ * Delegate for retrieving several client devices by name. The names are queried in chunks so each
+ * chunk costs a single round trip.
+ */
+public class WTSLocationClientDevicesByNameDelegate extends BaseClientDeviceDelegate<Map<String, ClientDevice>>
+{
+   // logger
+   private static Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation.dao.impl.jdbc");
+
+   private Map<String, ClientDevice> results = new HashMap<String, ClientDevice>();
+   protected String[] deviceNames;
+   protected String millenniumEnvironment;
+   protected String clientMnemonic;
+   protected Long logicalDomainId;
+   protected int chunkSize;
+
+   /**
+    * @param deviceNames the names of the devices, without duplicates
+    * @param clientMnemonic
+    * @param logicalDomainId
+    * @param millenniumEnvironment
+    * @param chunkSize the maximum number of names bound to a single query
+    */
+   public WTSLocationClientDevicesByNameDelegate(String[] deviceNames, String clientMnemonic, Long logicalDomainId,
+      String millenniumEnvironment, int chunkSize)
+   {
+      if (chunkSize <= 0)
+      {
+         throw new IllegalArgumentException("The chunk size must be greater than zero");
+      }
+
+      this.deviceNames = deviceNames;
+      this.clientMnemonic = clientMnemonic;
+      this.millenniumEnvironment = millenniumEnvironment;
+      this.logicalDomainId = logicalDomainId;
+      this.chunkSize = chunkSize;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#executeTransaction(com.cerner.management.datastore.DataStoreConfig,
+    *      com.cerner.management.data.sql.impl.JDBCConnection)
+    */
+   public boolean executeTransaction(DataStoreConfig config, JDBCConnection connection) throws ManagementException,
+      SQLException
+   {
+      logger.entering(this.getClass().getName(), "executeTransaction");
+      loadTableMetadata(config, connection);
+
+      String sql = SQLTransactionFactory.loadSQL(getClass(), getSqlStatementFile());
+
+      for (int start = 0; start < deviceNames.length; start += chunkSize)
+      {
+         int end = Math.min(start + chunkSize, deviceNames.length);
+
+         StringBuffer buffer = new StringBuffer();
+         for (int i = start; i < end; i++)
+         {
+            buffer.append(i == start ? "?" : ",?");
+         }
+
+         PreparedStatement stmt = null;
+         ResultSet resultSet = null;
+         try
+         {
+            stmt = connection.prepareStatement(MessageFormat.format(sql, new Object[]{buffer.toString()}));
+
+            int index = 1;
+            for (int i = start; i < end; i++)
+            {
+               stmt.setString(index++, deviceNames[i]);
+            }
+            stmt.setString(index++, clientMnemonic);
+            stmt.setString(index++, millenniumEnvironment);
+            stmt.setString(index++, logicalDomainId != null ? "" + logicalDomainId : "-1");
+
+            stmt.execute();
+
+            resultSet = stmt.getResultSet();
+
+            resolveClientDevices(resultSet);
+         }
+         finally
+         {
+            SQLHelper.safeCloseResultSet(resultSet);
+            SQLHelper.safeReleaseStatement(connection, stmt);
+         }
+      }
+
+      logger.exiting(this.getClass().getName(), "executeTransaction");
+      return true;
+   }
+
+   /**
+    * @return the name of the file containing the query
+    */
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getClientDevicesByName.sql";
+   }
+
+   /**
+    * The key a device name is matched on. Client names are compared case insensitively by SQL
+    * Server.
+    *
+    * @param deviceName
+    * @return the key of the device name
+    */
+   public String getNameKey(String deviceName)
+   {
+      return deviceName != null ? deviceName.trim().toLowerCase() : null;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getResult()
+    */
+   public Map<String, ClientDevice> getResult()
+   {
+      return results;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getTransactionMode()
+    */
+   public int getTransactionMode()
+   {
+      return MODE_NO_COMMIT;
+   }
+
+   protected void handleClientDevice(ClientDevice clientDevice)
+   {
+      results.put(getNameKey(clientDevice.getDeviceId()), clientDevice);
+   }
+}
@@ -0,0 +1,43 @@
+/*
+ * File: WTSLocationClientDevicesByNameDelegateOracle.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+/**
+ * Delegate for retrieving several client devices by name from Oracle
+ */
+public class WTSLocationClientDevicesByNameDelegateOracle extends WTSLocationClientDevicesByNameDelegate
+{
+   /**
+    * @param deviceNames the names of the devices, without duplicates
+    * @param clientMnemonic
+    * @param logicalDomainId
+    * @param millenniumEnvironment
+    * @param chunkSize the maximum number of names bound to a single query
+    */
+   public WTSLocationClientDevicesByNameDelegateOracle(String[] deviceNames, String clientMnemonic,
+      Long logicalDomainId, String millenniumEnvironment, int chunkSize)
+   {
+      super(deviceNames, clientMnemonic.toLowerCase(), logicalDomainId, millenniumEnvironment.toLowerCase(), chunkSize);
+   }
+
+   @Override
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getClientDevicesByNameOracle.sql";
+   }
+
+   /**
+    * Client names are compared case sensitively by Oracle.
+    *
+    * @see com.cerner.management.wtslocation.dao.impl.jdbc.WTSLocationClientDevicesByNameDelegate#getNameKey(java.lang.String)
+    */
+   @Override
+   public String getNameKey(String deviceName)
+   {
+      return deviceName;
+   }
+}
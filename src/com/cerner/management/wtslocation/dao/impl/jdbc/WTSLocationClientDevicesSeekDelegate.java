@@ -0,0 +1,192 @@
+/*
+ * File: WTSLocationClientDevicesSeekDelegate.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import com.cerner.management.data.sql.SQLHelper;
+import com.cerner.management.data.sql.SQLTransactionFactory;
+import com.cerner.management.data.sql.impl.JDBCConnection;
+import com.cerner.management.datastore.DataStoreConfig;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.wtslocation.ClientDevice;
+import com.cerner.management.wtslocation.dao.ClientDevicePage;
+
+/**
+ * Delegate for retrieving a page of client devices that continues after the last row of the
+ * previous page. Unlike offsets, the rows before the page do not have to be read again. The rows
+ * are ordered by client name, client mnemonic, Millennium environment and logical domain id, which
+ * covers the primary key even where the mnemonic and environment only match regardless of case,
+ * with null logical domain ids first.
+ */
+public class WTSLocationClientDevicesSeekDelegate extends BaseClientDeviceDelegate<ClientDevicePage>
+{
+   // logger
+   private static Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation.dao.impl.jdbc");
+
+   private List<ClientDevice> results = new ArrayList<ClientDevice>();
+   private String lastDeviceName;
+   private String lastClientMnemonic;
+   private String lastMillenniumEnvironment;
+   private String lastLogicalDomainId;
+
+   protected String millenniumEnvironment;
+   protected String clientMnemonic;
+   protected int pageSize;
+
+   /**
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param previous the previous page or null for the first page
+    * @param pageSize
+    */
+   public WTSLocationClientDevicesSeekDelegate(String clientMnemonic, String millenniumEnvironment,
+      ClientDevicePage previous, int pageSize)
+   {
+      this.clientMnemonic = clientMnemonic;
+      this.millenniumEnvironment = millenniumEnvironment;
+      if (previous != null)
+      {
+         this.lastDeviceName = previous.getLastDeviceName();
+         this.lastClientMnemonic = previous.getLastClientMnemonic();
+         this.lastMillenniumEnvironment = previous.getLastMillenniumEnvironment();
+         this.lastLogicalDomainId = previous.getLastLogicalDomainId();
+      }
+      this.pageSize = pageSize;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#executeTransaction(com.cerner.management.datastore.DataStoreConfig,
+    *      com.cerner.management.data.sql.impl.JDBCConnection)
+    */
+   public boolean executeTransaction(DataStoreConfig config, JDBCConnection connection) throws ManagementException,
+      SQLException
+   {
+      logger.entering(this.getClass().getName(), "executeTransaction");
+      loadTableMetadata(config, connection);
+
+      PreparedStatement stmt = null;
+      ResultSet resultSet = null;
+      try
+      {
+         String sql = SQLTransactionFactory.loadSQL(getClass(), getSqlStatementFile());
+
+         StringBuffer buffer = new StringBuffer();
+         if (lastDeviceName != null)
+         {
+            buffer.append("and (clientname > ? or (clientname = ? and ");
+            buffer.append("(clientmnemonic > ? or (clientmnemonic = ? and ");
+            buffer.append("(millenvironment > ? or (millenvironment = ? and ");
+            // null ids sort first, so every id follows a null one
+            buffer.append(lastLogicalDomainId == null ? "logical_domain_id is not null" : "logical_domain_id > ?");
+            buffer.append("))))))");
+         }
+
+         sql = MessageFormat.format(sql, new Object[]{buffer.toString()});
+
+         stmt = connection.prepareStatement(sql);
+
+         int index = bindPageSize(stmt, 1, true);
+         stmt.setString(index++, clientMnemonic);
+         stmt.setString(index++, millenniumEnvironment);
+         if (lastDeviceName != null)
+         {
+            stmt.setString(index++, lastDeviceName);
+            stmt.setString(index++, lastDeviceName);
+            stmt.setString(index++, lastClientMnemonic);
+            stmt.setString(index++, lastClientMnemonic);
+            stmt.setString(index++, lastMillenniumEnvironment);
+            stmt.setString(index++, lastMillenniumEnvironment);
+            if (lastLogicalDomainId != null)
+            {
+               stmt.setString(index++, lastLogicalDomainId);
+            }
+         }
+         bindPageSize(stmt, index, false);
+
+         stmt.execute();
+
+         resultSet = stmt.getResultSet();
+
+         resolveClientDevices(resultSet);
+      }
+      finally
+      {
+         SQLHelper.safeCloseResultSet(resultSet);
+         SQLHelper.safeReleaseStatement(connection, stmt);
+      }
+
+      logger.exiting(this.getClass().getName(), "executeTransaction");
+      return true;
+   }
+
+   /**
+    * @return the name of the file containing the query
+    */
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getClientDevicesSeek.sql";
+   }
+
+   /**
+    * Binds the page size. SQL Server limits the rows with top, before any other parameter.
+    *
+    * @param stmt
+    * @param index the next parameter index
+    * @param leading true if called before the other parameters are bound, false if after
+    * @return the next parameter index
+    * @throws SQLException
+    */
+   protected int bindPageSize(PreparedStatement stmt, int index, boolean leading) throws SQLException
+   {
+      if (leading)
+      {
+         stmt.setInt(index++, pageSize);
+      }
+      return index;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getResult()
+    */
+   public ClientDevicePage getResult()
+   {
+      return new ClientDevicePage(results.toArray(new ClientDevice[results.size()]), results.isEmpty() ? null
+         : lastDeviceName, lastClientMnemonic, lastMillenniumEnvironment, lastLogicalDomainId);
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getTransactionMode()
+    */
+   public int getTransactionMode()
+   {
+      return MODE_NO_COMMIT;
+   }
+
+   protected void handleClientDevice(ClientDevice clientDevice)
+   {
+      results.add(clientDevice);
+   }
+
+   @Override
+   protected void handleClientDevice(ClientDevice clientDevice, String logicalDomainId) throws ManagementException
+   {
+      lastDeviceName = clientDevice.getDeviceId();
+      lastClientMnemonic = clientDevice.getClientMnemonic();
+      lastMillenniumEnvironment = clientDevice.getMillenniumEnvironment();
+      lastLogicalDomainId = logicalDomainId;
+
+      super.handleClientDevice(clientDevice, logicalDomainId);
+   }
+}
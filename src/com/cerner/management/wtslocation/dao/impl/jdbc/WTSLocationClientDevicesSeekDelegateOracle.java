@@ -0,0 +1,53 @@
+/*
+ * File: WTSLocationClientDevicesSeekDelegateOracle.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.cerner.management.wtslocation.dao.ClientDevicePage;
+
+/**
+ * Delegate for retrieving a page of client devices from Oracle that continues after the last row of
+ * the previous page
+ */
+public class WTSLocationClientDevicesSeekDelegateOracle extends WTSLocationClientDevicesSeekDelegate
+{
+   /**
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param previous the previous page or null for the first page
+    * @param pageSize
+    */
+   public WTSLocationClientDevicesSeekDelegateOracle(String clientMnemonic, String millenniumEnvironment,
+      ClientDevicePage previous, int pageSize)
+   {
+      super(clientMnemonic.toLowerCase(), millenniumEnvironment.toLowerCase(), previous, pageSize);
+   }
+
+   @Override
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getClientDevicesSeekOracle.sql";
+   }
+
+   /**
+    * Oracle limits the rows with rownum, after every other parameter.
+    *
+    * @see com.cerner.management.wtslocation.dao.impl.jdbc.WTSLocationClientDevicesSeekDelegate#bindPageSize(java.sql.PreparedStatement,
+    *      int, boolean)
+    */
+   @Override
+   protected int bindPageSize(PreparedStatement stmt, int index, boolean leading) throws SQLException
+   {
+      if (!leading)
+      {
+         stmt.setInt(index++, pageSize);
+      }
+      return index;
+   }
+}
@@ -0,0 +1,166 @@
+/*
+ * File: WTSLocationClientDevicesStreamDelegate.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.logging.Logger;
+
+import com.cerner.management.data.sql.SQLHelper;
+import com.cerner.management.data.sql.SQLTimestampUtil;
+import com.cerner.management.data.sql.SQLTransactionFactory;
+import com.cerner.management.data.sql.impl.JDBCConnection;
+import com.cerner.management.datastore.DataStoreConfig;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.wtslocation.ClientDevice;
+import com.cerner.management.wtslocation.ClientDeviceFilter;
+import com.cerner.management.wtslocation.dao.ClientDeviceHandler;
+
+/**
+ * Delegate that reads every client device of an environment with a single forward only cursor and
+ * passes each device to a {@link ClientDeviceHandler} as soon as its row is read. No devices are
+ * kept by the delegate. The result is the number of devices read. A filter restricts the devices
+ * the same way as for a {@link WTSLocationBoundedClientDeviceDelegate}, without limiting their
+ * number. When an update time is given only the devices updated at or after it are read, provided
+ * the table has an UPDT_DT_TM column.
+ */
+public class WTSLocationClientDevicesStreamDelegate extends BaseClientDeviceDelegate<Long>
+{
+   // logger
+   private static Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation.dao.impl.jdbc");
+
+   private final ClientDeviceHandler handler;
+   private final ClientDeviceFilter filter;
+   private final Date updatedSince;
+   private long count = 0;
+
+   protected String millenniumEnvironment;
+   protected String clientMnemonic;
+   protected int fetchSize;
+
+   /**
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param filter the filter of the devices to read or null for every device
+    * @param updatedSince the earliest update time of the devices to read or null for every device
+    * @param handler receives each device
+    * @param fetchSize the number of rows fetched from the database at a time
+    */
+   public WTSLocationClientDevicesStreamDelegate(String clientMnemonic, String millenniumEnvironment,
+      ClientDeviceFilter filter, Date updatedSince, ClientDeviceHandler handler, int fetchSize)
+   {
+      this.clientMnemonic = clientMnemonic;
+      this.millenniumEnvironment = millenniumEnvironment;
+      this.filter = filter;
+      this.updatedSince = updatedSince;
+      this.handler = handler;
+      this.fetchSize = fetchSize;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#executeTransaction(com.cerner.management.datastore.DataStoreConfig,
+    *      com.cerner.management.data.sql.impl.JDBCConnection)
+    */
+   public boolean executeTransaction(DataStoreConfig config, JDBCConnection connection) throws ManagementException,
+      SQLException
+   {
+      logger.entering(this.getClass().getName(), "executeTransaction");
+      loadTableMetadata(config, connection);
+
+      PreparedStatement stmt = null;
+      ResultSet resultSet = null;
+      try
+      {
+         String sql = SQLTransactionFactory.loadSQL(getClass(), getSqlStatementFile());
+
+         ClientDeviceFilterClause clause = new ClientDeviceFilterClause(filter, updtDtTmExists, lastUpdatedByExists,
+            isOracle());
+
+         StringBuffer buffer = new StringBuffer(clause.getClause());
+         Timestamp updatedSinceValue = null;
+         if (updtDtTmExists && updatedSince != null)
+         {
+            buffer.append(" and Updt_Dt_Tm >= ?");
+
+            updatedSinceValue = SQLTimestampUtil.getTimestamp(updatedSince, TimeZone.getTimeZone("UTC"));
+         }
+
+         sql = MessageFormat.format(sql, new Object[]{buffer.toString()});
+
+         // statements are forward only and read only unless asked otherwise
+         stmt = connection.prepareStatement(sql);
+         if (fetchSize > 0)
+         {
+            stmt.setFetchSize(fetchSize);
+         }
+         stmt.setString(1, clientMnemonic);
+         stmt.setString(2, millenniumEnvironment);
+         int index = clause.bind(stmt, 3);
+         if (updatedSinceValue != null)
+         {
+            stmt.setTimestamp(index++, updatedSinceValue);
+         }
+         stmt.execute();
+
+         resultSet = stmt.getResultSet();
+
+         resolveClientDevices(resultSet);
+      }
+      finally
+      {
+         SQLHelper.safeCloseResultSet(resultSet);
+         SQLHelper.safeReleaseStatement(connection, stmt);
+      }
+
+      logger.exiting(this.getClass().getName(), "executeTransaction");
+      return true;
+   }
+
+   /**
+    * @return the name of the file containing the query
+    */
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getClientDevicesStream.sql";
+   }
+
+   /**
+    * @return true if the filter compares the last updated by value case insensitively
+    */
+   protected boolean isOracle()
+   {
+      return false;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getResult()
+    */
+   public Long getResult()
+   {
+      return count;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getTransactionMode()
+    */
+   public int getTransactionMode()
+   {
+      return MODE_NO_COMMIT;
+   }
+
+   protected void handleClientDevice(ClientDevice clientDevice) throws ManagementException
+   {
+      handler.handleClientDevice(clientDevice);
+      count++;
+   }
+}
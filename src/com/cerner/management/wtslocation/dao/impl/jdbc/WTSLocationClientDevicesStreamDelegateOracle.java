@@ -0,0 +1,46 @@
+/*
+ * File: WTSLocationClientDevicesStreamDelegateOracle.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.util.Date;
+
+import com.cerner.management.wtslocation.ClientDeviceFilter;
+import com.cerner.management.wtslocation.dao.ClientDeviceHandler;
+
+/**
+ * Delegate that reads every client device of an environment from Oracle with a single forward only
+ * cursor
+ */
+public class WTSLocationClientDevicesStreamDelegateOracle extends WTSLocationClientDevicesStreamDelegate
+{
+   /**
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param filter the filter of the devices to read or null for every device
+    * @param updatedSince the earliest update time of the devices to read or null for every device
+    * @param handler receives each device
+    * @param fetchSize the number of rows fetched from the database at a time
+    */
+   public WTSLocationClientDevicesStreamDelegateOracle(String clientMnemonic, String millenniumEnvironment,
+      ClientDeviceFilter filter, Date updatedSince, ClientDeviceHandler handler, int fetchSize)
+   {
+      super(clientMnemonic.toLowerCase(), millenniumEnvironment.toLowerCase(), filter, updatedSince, handler,
+         fetchSize);
+   }
+
+   @Override
+   protected boolean isOracle()
+   {
+      return true;
+   }
+
+   @Override
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getClientDevicesStreamOracle.sql";
+   }
+}
@@ -0,0 +1,154 @@
+/*
+ * File: WTSLocationMatchingClientDevicesDelegate.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import com.cerner.management.data.sql.SQLHelper;
+import com.cerner.management.data.sql.SQLTransactionFactory;
+import com.cerner.management.data.sql.impl.JDBCConnection;
+import com.cerner.management.datastore.DataStoreConfig;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.wtslocation.ClientDevice;
+
+/**
+ * Delegate for retrieving the client devices of an environment whose names are in a list, in every
+ * logical domain. Names are compared case insensitively and queried in chunks, one round trip per
+ * chunk.
+ */
+public class WTSLocationMatchingClientDevicesDelegate extends BaseClientDeviceDelegate<ClientDevice[]>
+{
+   // logger
+   private static Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation.dao.impl.jdbc");
+
+   private List<ClientDevice> results = new ArrayList<ClientDevice>();
+   protected String[] deviceNames;
+   protected String millenniumEnvironment;
+   protected String clientMnemonic;
+   protected int chunkSize;
+
+   /**
+    * @param deviceNames the names of the devices, without duplicates
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param chunkSize the maximum number of names bound to a single query
+    */
+   public WTSLocationMatchingClientDevicesDelegate(String[] deviceNames, String clientMnemonic,
+      String millenniumEnvironment, int chunkSize)
+   {
+      if (chunkSize <= 0)
+      {
+         throw new IllegalArgumentException("The chunk size must be greater than zero");
+      }
+
+      this.deviceNames = deviceNames;
+      this.clientMnemonic = clientMnemonic;
+      this.millenniumEnvironment = millenniumEnvironment;
+      this.chunkSize = chunkSize;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#executeTransaction(com.cerner.management.datastore.DataStoreConfig,
+    *      com.cerner.management.data.sql.impl.JDBCConnection)
+    */
+   public boolean executeTransaction(DataStoreConfig config, JDBCConnection connection) throws ManagementException,
+      SQLException
+   {
+      logger.entering(this.getClass().getName(), "executeTransaction");
+      loadTableMetadata(config, connection);
+
+      String sql = SQLTransactionFactory.loadSQL(getClass(), getSqlStatementFile());
+
+      for (int start = 0; start < deviceNames.length; start += chunkSize)
+      {
+         int end = Math.min(start + chunkSize, deviceNames.length);
+
+         StringBuffer buffer = new StringBuffer();
+         for (int i = start; i < end; i++)
+         {
+            buffer.append(i == start ? "?" : ",?");
+         }
+
+         PreparedStatement stmt = null;
+         ResultSet resultSet = null;
+         try
+         {
+            stmt = connection.prepareStatement(MessageFormat.format(sql, new Object[]{buffer.toString()}));
+
+            int index = 1;
+            for (int i = start; i < end; i++)
+            {
+               stmt.setString(index++, getNameParameter(deviceNames[i]));
+            }
+            stmt.setString(index++, clientMnemonic + "%");
+            stmt.setString(index++, millenniumEnvironment);
+
+            stmt.execute();
+
+            resultSet = stmt.getResultSet();
+
+            resolveClientDevices(resultSet);
+         }
+         finally
+         {
+            SQLHelper.safeCloseResultSet(resultSet);
+            SQLHelper.safeReleaseStatement(connection, stmt);
+         }
+      }
+
+      logger.exiting(this.getClass().getName(), "executeTransaction");
+      return true;
+   }
+
+   /**
+    * @return the file of the SQL statement
+    */
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getMatchingClientDevices.sql";
+   }
+
+   /**
+    * SQL Server compares the names with the case insensitive collation of the column, which keeps
+    * the index on the name usable.
+    *
+    * @param deviceName
+    * @return the value bound for the name
+    */
+   protected String getNameParameter(String deviceName)
+   {
+      return deviceName;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getResult()
+    */
+   public ClientDevice[] getResult()
+   {
+      return results.toArray(new ClientDevice[results.size()]);
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getTransactionMode()
+    */
+   public int getTransactionMode()
+   {
+      return MODE_NO_COMMIT;
+   }
+
+   protected void handleClientDevice(ClientDevice clientDevice)
+   {
+      results.add(clientDevice);
+   }
+}
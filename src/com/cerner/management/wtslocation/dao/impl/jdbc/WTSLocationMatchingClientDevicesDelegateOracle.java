@@ -0,0 +1,42 @@
+/*
+ * File: WTSLocationMatchingClientDevicesDelegateOracle.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+/**
+ * Delegate for retrieving the client devices of an environment whose names are in a list from Oracle
+ */
+public class WTSLocationMatchingClientDevicesDelegateOracle extends WTSLocationMatchingClientDevicesDelegate
+{
+   /**
+    * @param deviceNames the names of the devices, without duplicates
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param chunkSize the maximum number of names bound to a single query
+    */
+   public WTSLocationMatchingClientDevicesDelegateOracle(String[] deviceNames, String clientMnemonic,
+      String millenniumEnvironment, int chunkSize)
+   {
+      super(deviceNames, clientMnemonic.toLowerCase(), millenniumEnvironment.toLowerCase(), chunkSize);
+   }
+
+   @Override
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.getMatchingClientDevicesOracle.sql";
+   }
+
+   /**
+    * Oracle compares names case sensitively, so the statement compares them in lower case.
+    *
+    * @see com.cerner.management.wtslocation.dao.impl.jdbc.WTSLocationMatchingClientDevicesDelegate#getNameParameter(java.lang.String)
+    */
+   @Override
+   protected String getNameParameter(String deviceName)
+   {
+      return deviceName.toLowerCase();
+   }
+}
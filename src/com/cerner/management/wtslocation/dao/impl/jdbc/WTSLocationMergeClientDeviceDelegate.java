@@ -0,0 +1,394 @@
+/*
+ * File: WTSLocationMergeClientDeviceDelegate.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.nio.charset.Charset;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+
+import com.cerner.management.data.sql.SQLHelper;
+import com.cerner.management.data.sql.SQLTransactionDelegate;
+import com.cerner.management.data.sql.SQLTransactionFactory;
+import com.cerner.management.data.sql.impl.JDBCConnection;
+import com.cerner.management.datastore.DataStoreConfig;
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.wtslocation.ClientDevice;
+import com.cerner.management.wtslocation.ClientDeviceAttribute;
+import com.cerner.management.wtslocation.LogicalDomainCache;
+import com.cerner.management.wtslocation.LogicalDomainResolver;
+
+/**
+ * This delegate will add the client devices that do not exist and update the ones that do with a
+ * single merge statement per device. A stored device is only updated if its fingerprint differs from
+ * the fingerprint of the device, so the result holds, for each device, 1 if it was added or updated
+ * and 0 if it was left unchanged. A driver that does not report the count of a batched statement
+ * returns {@link java.sql.Statement#SUCCESS_NO_INFO} instead.
+ */
+public class WTSLocationMergeClientDeviceDelegate implements SQLTransactionDelegate<int[]>
+{
+   // logger
+   private static Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation.dao.impl.jdbc");
+
+   private static final String DEFAULT_LOCATION = "DEFAULT_LOCATION";
+   private static final String DEVICE_LOCATION = "DEVICE_LOCATION";
+
+   private ClientDevice[] devices;
+   private String[] attributeNames;
+   private String clientMnemonic;
+   private String millenniumEnvironment;
+   private long batchSize;
+   private int[] mergedIdx = new int[0];
+
+   private boolean lastUpdatedByColumnExistsInDB;
+
+   private Comparator<ClientDeviceAttribute> attributeComparator = new Comparator<ClientDeviceAttribute>()
+   {
+      public int compare(ClientDeviceAttribute o1, ClientDeviceAttribute o2)
+      {
+         return o1.getName().compareTo(o2.getName());
+      }
+   };
+
+   /**
+    * @param devices the devices, all with the same attributes
+    * @param attributeNames the attribute columns the fingerprints are computed over
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param batchSize
+    */
+   public WTSLocationMergeClientDeviceDelegate(ClientDevice[] devices, String[] attributeNames,
+      String clientMnemonic, String millenniumEnvironment, long batchSize)
+   {
+      if (devices == null || devices.length == 0)
+      {
+         throw new IllegalArgumentException("There must be some devices to merge");
+      }
+      for (String attributeName : attributeNames)
+      {
+         if (!attributeName.matches("\\w+"))
+         {
+            throw new IllegalArgumentException("Invalid attribute column name: " + attributeName);
+         }
+      }
+
+      this.devices = devices;
+      this.attributeNames = attributeNames;
+      this.clientMnemonic = clientMnemonic;
+      this.millenniumEnvironment = millenniumEnvironment;
+      this.batchSize = batchSize;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#executeTransaction(com.cerner.management.datastore.DataStoreConfig,
+    *      com.cerner.management.data.sql.impl.JDBCConnection)
+    */
+   public boolean executeTransaction(DataStoreConfig config, JDBCConnection connection)
+      throws ManagementException, SQLException
+   {
+      logger.entering(this.getClass().getName(), "executeTransaction");
+
+      String sql = SQLTransactionFactory.loadSQL(getClass(), getSqlStatementFile());
+      PreparedStatement stmt = null;
+
+      try
+      {
+         List<String> hashColumns = new ArrayList<String>();
+         for (String attributeName : attributeNames)
+         {
+            hashColumns.add("target." + attributeName);
+         }
+         hashColumns.add("target." + DEFAULT_LOCATION);
+         hashColumns.add("target." + DEVICE_LOCATION);
+
+         ClientDeviceAttribute[] attrs = devices[0].getDeviceAttributes();
+         Arrays.sort(attrs, attributeComparator);
+
+         ClientDeviceTableMetadata metadata = ClientDeviceTableMetadataCache.getInstance(config).getMetadata(connection);
+         lastUpdatedByColumnExistsInDB = metadata.isLastUpdatedByExists();
+
+         List<String> assignments = new ArrayList<String>();
+         StringBuffer columnBuffer = new StringBuffer();
+         StringBuffer valueBuffer = new StringBuffer();
+         boolean logicalDomainInAttrs = false;
+
+         for (ClientDeviceAttribute attr : attrs)
+         {
+            if (attr.getName().equalsIgnoreCase("Logical_Domain_Id"))
+            {
+               logicalDomainInAttrs = true;
+            }
+            else
+            {
+               assignments.add(attr.getName() + " = ?");
+            }
+            columnBuffer.append(attr.getName()).append(',');
+            valueBuffer.append("?,");
+         }
+
+         columnBuffer.append("ClientMnemonic,MillEnvironment,ClientName");
+         valueBuffer.append("?,?,?");
+
+         if (!logicalDomainInAttrs)
+         {
+            columnBuffer.append(",Logical_Domain_Id");
+            valueBuffer.append(",?");
+         }
+
+         if (lastUpdatedByColumnExistsInDB)
+         {
+            assignments.add("Last_Updated_By = ?");
+            columnBuffer.append(",Last_Updated_By");
+            valueBuffer.append(",?");
+         }
+         if (metadata.isUpdtDtTmExists())
+         {
+            assignments.add("UPDT_DT_TM = " + getUtcDateExpression());
+            if (isUpdtDtTmInserted())
+            {
+               columnBuffer.append(",UPDT_DT_TM");
+               valueBuffer.append(",").append(getUtcDateExpression());
+            }
+         }
+
+         sql = MessageFormat.format(sql, new Object[]{getHashExpression(hashColumns), getAssignments(assignments),
+            columnBuffer.toString(), valueBuffer.toString()});
+
+         stmt = connection.prepareStatement(sql);
+
+         List<int[]> counts = new ArrayList<int[]>();
+         LogicalDomainResolver resolver = LogicalDomainCache.getInstance(millenniumEnvironment).getResolver();
+
+         long size = 0;
+         for (ClientDevice device : devices)
+         {
+            String logicalDomainId = Long.toString(resolver.getLogicalDomainId(device.getLogicalDomain()));
+
+            int index = 1;
+            stmt.setString(index++, getKeyValue(device.getDeviceId()));
+            stmt.setString(index++, getKeyValue(device.getClientMnemonic()));
+            stmt.setString(index++, getKeyValue(device.getMillenniumEnvironment()));
+            stmt.setString(index++, logicalDomainId);
+
+            index = bindMatched(stmt, index, device);
+
+            ClientDeviceAttribute[] deviceAttrs = device.getDeviceAttributes();
+            Arrays.sort(deviceAttrs, attributeComparator);
+
+            for (ClientDeviceAttribute attr : deviceAttrs)
+            {
+               if (attr.getName().equalsIgnoreCase("Logical_Domain_Id"))
+               {
+                  stmt.setString(index++, logicalDomainId);
+               }
+               else
+               {
+                  stmt.setString(index++, getValue(device, attr));
+               }
+            }
+
+            stmt.setString(index++, clientMnemonic.toUpperCase());
+            stmt.setString(index++, millenniumEnvironment.toUpperCase());
+            stmt.setString(index++, device.getDeviceName().trim());
+
+            if (!logicalDomainInAttrs)
+            {
+               stmt.setString(index++, logicalDomainId);
+            }
+
+            if (lastUpdatedByColumnExistsInDB)
+            {
+               stmt.setString(index++, device.getLastUpdatedBy());
+            }
+
+            stmt.addBatch();
+            size++;
+
+            if (size >= batchSize)
+            {
+               counts.add(stmt.executeBatch());
+               stmt.clearBatch();
+               size = 0;
+            }
+         }
+
+         counts.add(stmt.executeBatch());
+
+         mergedIdx = new int[devices.length];
+         int position = 0;
+         for (int[] batch : counts)
+         {
+            System.arraycopy(batch, 0, mergedIdx, position, Math.min(batch.length, mergedIdx.length - position));
+            position += batch.length;
+         }
+      }
+      finally
+      {
+         SQLHelper.safeReleaseStatement(connection, stmt);
+      }
+
+      logger.exiting(this.getClass().getName(), "executeTransaction");
+      return true;
+   }
+
+   /**
+    * @return the name of the file containing the statement
+    */
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.mergeClientDevice.sql";
+   }
+
+   /**
+    * @param columns
+    * @return the expression that hashes the columns of the stored device
+    */
+   protected String getHashExpression(List<String> columns)
+   {
+      return WTSLocationClientDeviceFingerprintsDelegate.getSqlServerHashExpression(columns);
+   }
+
+   /**
+    * @return the encoding the database hashes
+    */
+   protected Charset getCharset()
+   {
+      return WTSLocationClientDeviceFingerprintsDelegate.CHARSET;
+   }
+
+   /**
+    * @return the expression of the current UTC date
+    */
+   protected String getUtcDateExpression()
+   {
+      return "getutcdate()";
+   }
+
+   /**
+    * @return true if the update time of an added device is set by the statement
+    */
+   protected boolean isUpdtDtTmInserted()
+   {
+      return false;
+   }
+
+   /**
+    * @param assignments the assignments of the attribute and audit columns
+    * @return the set clause of the update, the client name is updated to the case of the device
+    */
+   protected String getAssignments(List<String> assignments)
+   {
+      StringBuffer buffer = new StringBuffer("clientname = ?");
+      for (String assignment : assignments)
+      {
+         buffer.append(", ").append(assignment);
+      }
+      return buffer.toString();
+   }
+
+   /**
+    * @param value a value the stored device is matched on
+    * @return the value to bind
+    */
+   protected String getKeyValue(String value)
+   {
+      return value;
+   }
+
+   /**
+    * Binds the fingerprint that guards the update followed by the values of the update.
+    *
+    * @param stmt
+    * @param index the next parameter index
+    * @param device
+    * @return the next parameter index
+    * @throws SQLException
+    */
+   protected int bindMatched(PreparedStatement stmt, int index, ClientDevice device) throws SQLException
+   {
+      index = bindFingerprint(stmt, index, device);
+      stmt.setString(index++, device.getDeviceName().trim());
+      return bindAssignments(stmt, index, device);
+   }
+
+   /**
+    * @param stmt
+    * @param index the next parameter index
+    * @param device
+    * @return the next parameter index
+    * @throws SQLException
+    */
+   protected int bindFingerprint(PreparedStatement stmt, int index, ClientDevice device) throws SQLException
+   {
+      stmt.setBytes(index++, WTSLocationClientDeviceFingerprintsDelegate.digest(device, attributeNames, getCharset()));
+      return index;
+   }
+
+   /**
+    * Binds the values of the attribute and audit column assignments.
+    *
+    * @param stmt
+    * @param index the next parameter index
+    * @param device
+    * @return the next parameter index
+    * @throws SQLException
+    */
+   protected int bindAssignments(PreparedStatement stmt, int index, ClientDevice device) throws SQLException
+   {
+      ClientDeviceAttribute[] deviceAttrs = device.getDeviceAttributes();
+      Arrays.sort(deviceAttrs, attributeComparator);
+
+      for (ClientDeviceAttribute attr : deviceAttrs)
+      {
+         if (!attr.getName().equalsIgnoreCase("Logical_Domain_Id"))
+         {
+            stmt.setString(index++, getValue(device, attr));
+         }
+      }
+      if (lastUpdatedByColumnExistsInDB)
+      {
+         stmt.setString(index++, device.getLastUpdatedBy());
+      }
+      return index;
+   }
+
+   private String getValue(ClientDevice device, ClientDeviceAttribute attr)
+   {
+      String value = attr.getValue();
+      if (attr.getName().equalsIgnoreCase("Default_Location") && device.getDefaultLocation() != null)
+      {
+         value = device.getDefaultLocation();
+      }
+      else if (attr.getName().equalsIgnoreCase("Device_Location") && device.getDeviceLocation() != null)
+      {
+         value = device.getDeviceLocation();
+      }
+      return value != null ? value.trim() : null;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getResult()
+    */
+   public int[] getResult()
+   {
+      return mergedIdx;
+   }
+
+   /**
+    * @see com.cerner.management.data.sql.SQLTransactionDelegate#getTransactionMode()
+    */
+   public int getTransactionMode()
+   {
+      return MODE_MANUAL_COMMIT;
+   }
+}
@@ -0,0 +1,98 @@
+/*
+ * File: WTSLocationMergeClientDeviceDelegateOracle.java
+ * Package: com.cerner.management.wtslocation.dao.impl.jdbc
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.dao.impl.jdbc;
+
+import java.nio.charset.Charset;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.cerner.management.wtslocation.ClientDevice;
+
+/**
+ * This delegate will merge client devices into Oracle. The stored devices are matched case
+ * insensitively, and since Oracle cannot update the columns they are matched on, the client name
+ * keeps its stored case.
+ */
+public class WTSLocationMergeClientDeviceDelegateOracle extends WTSLocationMergeClientDeviceDelegate
+{
+   /**
+    * @param devices the devices, all with the same attributes
+    * @param attributeNames the attribute columns the fingerprints are computed over
+    * @param clientMnemonic
+    * @param millenniumEnvironment
+    * @param batchSize
+    */
+   public WTSLocationMergeClientDeviceDelegateOracle(ClientDevice[] devices, String[] attributeNames,
+      String clientMnemonic, String millenniumEnvironment, long batchSize)
+   {
+      super(devices, attributeNames, clientMnemonic, millenniumEnvironment, batchSize);
+   }
+
+   @Override
+   protected String getSqlStatementFile()
+   {
+      return "sql/wtslocation.mergeClientDeviceOracle.sql";
+   }
+
+   @Override
+   protected String getHashExpression(List<String> columns)
+   {
+      return WTSLocationClientDeviceFingerprintsDelegateOracle.getOracleHashExpression(columns);
+   }
+
+   @Override
+   protected Charset getCharset()
+   {
+      return WTSLocationClientDeviceFingerprintsDelegateOracle.CHARSET;
+   }
+
+   @Override
+   protected String getUtcDateExpression()
+   {
+      return "(select cast(sys_extract_utc(systimestamp) as date) from dual)";
+   }
+
+   @Override
+   protected boolean isUpdtDtTmInserted()
+   {
+      return true;
+   }
+
+   @Override
+   protected String getAssignments(List<String> assignments)
+   {
+      if (assignments.isEmpty())
+      {
+         // an update needs at least one column
+         return "Default_Location = Default_Location";
+      }
+
+      StringBuffer buffer = new StringBuffer();
+      for (String assignment : assignments)
+      {
+         buffer.append(buffer.length() == 0 ? "" : ", ").append(assignment);
+      }
+      return buffer.toString();
+   }
+
+   @Override
+   protected String getKeyValue(String value)
+   {
+      return value.toLowerCase();
+   }
+
+   /**
+    * Oracle guards the update with a where clause that follows the assignments.
+    */
+   @Override
+   protected int bindMatched(PreparedStatement stmt, int index, ClientDevice device) throws SQLException
+   {
+      index = bindAssignments(stmt, index, device);
+      return bindFingerprint(stmt, index, device);
+   }
+}
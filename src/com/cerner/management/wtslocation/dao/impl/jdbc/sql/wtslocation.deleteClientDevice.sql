@@ -1,5 +1,5 @@
-delete from locations
- where clientname = ? 
-    and clientmnemonic = ? 
-    and millenvironment = ?
+delete from locations
+ where clientname = ? 
+    and clientmnemonic = ? 
+    and millenvironment = ?
     and logical_domain_id = ?
\ No newline at end of file
@@ -1,5 +1,5 @@
-delete from locations
- where lower(clientname) = ? 
-    and lower(clientmnemonic) = ? 
-    and lower(millenvironment) = ?
+delete from locations
+ where lower(clientname) = ? 
+    and lower(clientmnemonic) = ? 
+    and lower(millenvironment) = ?
     and logical_domain_id = ?
\ No newline at end of file
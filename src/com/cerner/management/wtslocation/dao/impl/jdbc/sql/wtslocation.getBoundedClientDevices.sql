@@ -1,7 +1,6 @@
-select * from locations 
-	where clientmnemonic = ?
-    and millenvironment = ?
-	{0}
-	order by clientname
-   
-
+select top (?) * from locations 
+	where clientmnemonic = ?
+    and millenvironment = ?
+	{0}
+	order by clientname
+   
@@ -1,5 +1,9 @@
-select * from locations 
-    where lower(clientmnemonic) like ? 
-    and lower(millenvironment) = ? 
-    {0}
-    order by clientname
\ No newline at end of file
+select * from
+(
+    select * from locations 
+        where lower(clientmnemonic) like ? 
+        and lower(millenvironment) = ? 
+        {0}
+        order by clientname, clientmnemonic, logical_domain_id
+)
+where rownum <= ?
@@ -0,0 +1,5 @@
+select clientmnemonic, millenvironment, clientname, logical_domain_id, {0} as fingerprint
+	from locations
+	where clientname in ({1})
+	and clientmnemonic like ? 
+	and millenvironment = ?
\ No newline at end of file
@@ -0,0 +1,5 @@
+select clientmnemonic, millenvironment, clientname, logical_domain_id, {0} as fingerprint
+    from locations
+    where lower(clientname) in ({1})
+    and lower(clientmnemonic) like ? 
+    and lower(millenvironment) = ?
\ No newline at end of file
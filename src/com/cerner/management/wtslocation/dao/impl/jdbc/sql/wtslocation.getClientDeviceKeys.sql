@@ -1,5 +1,5 @@
-select clientmnemonic, clientname, logical_domain_id
-	from locations
-	where lower(clientmnemonic) like ?
-	and lower(millenvironment) = ? 
+select clientmnemonic, clientname, logical_domain_id
+	from locations
+	where lower(clientmnemonic) like ?
+	and lower(millenvironment) = ? 
 	order by clientname
\ No newline at end of file
@@ -1,6 +1,6 @@
-select * from locations 
-    where clientname = ?
-    and lower(clientmnemonic) = ? 
-    and lower(millenvironment) = ?
-    and logical_domain_id = ?
+select * from locations 
+    where clientname = ?
+    and lower(clientmnemonic) = ? 
+    and lower(millenvironment) = ?
+    and logical_domain_id = ?
     order by clientname
\ No newline at end of file
@@ -1,6 +1,6 @@
-select * from locations 
-	where lower(clientmnemonic) like ? 
-	and lower(millenvironment) = ? 
-	order by clientname
-   
-
+select * from locations 
+	where lower(clientmnemonic) like ? 
+	and lower(millenvironment) = ? 
+	order by clientname
+   
+
@@ -0,0 +1,5 @@
+select * from locations 
+    where clientname in ({0})
+    and lower(clientmnemonic) = ? 
+    and lower(millenvironment) = ?
+    and logical_domain_id = ?
\ No newline at end of file
@@ -0,0 +1,5 @@
+select top (?) * from locations 
+	where clientmnemonic = ?
+	and millenvironment = ?
+	{0}
+	order by clientname, clientmnemonic, millenvironment, logical_domain_id
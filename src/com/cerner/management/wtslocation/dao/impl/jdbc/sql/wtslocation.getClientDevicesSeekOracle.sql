@@ -0,0 +1,9 @@
+select * from
+(
+    select * from locations 
+        where lower(clientmnemonic) = ?
+        and lower(millenvironment) = ?
+        {0}
+        order by clientname, clientmnemonic, millenvironment, logical_domain_id nulls first
+)
+where rownum <= ?
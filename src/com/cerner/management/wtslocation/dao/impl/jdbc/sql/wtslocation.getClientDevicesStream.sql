@@ -0,0 +1,5 @@
+select * from locations 
+	where clientmnemonic = ?
+	and millenvironment = ?
+	{0}
+	order by clientname, logical_domain_id
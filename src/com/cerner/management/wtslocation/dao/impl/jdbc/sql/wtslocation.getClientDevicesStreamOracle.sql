@@ -0,0 +1,5 @@
+select * from locations 
+    where lower(clientmnemonic) = ?
+    and lower(millenvironment) = ?
+    {0}
+    order by clientname, logical_domain_id
@@ -1,3 +1,3 @@
-select column_name
-	from information_schema.columns
+select column_name
+	from information_schema.columns
 	where table_name = 'locations'
\ No newline at end of file
@@ -0,0 +1,4 @@
+select * from locations 
+	where clientname in ({0})
+	and clientmnemonic like ? 
+	and millenvironment = ?
\ No newline at end of file
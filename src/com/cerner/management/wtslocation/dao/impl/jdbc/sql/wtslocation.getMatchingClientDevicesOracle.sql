@@ -0,0 +1,4 @@
+select * from locations 
+    where lower(clientname) in ({0})
+    and lower(clientmnemonic) like ? 
+    and lower(millenvironment) = ?
\ No newline at end of file
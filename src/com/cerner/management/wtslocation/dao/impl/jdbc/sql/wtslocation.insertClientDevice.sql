@@ -1,6 +1,6 @@
-insert into locations
-(
-  {0}	  
-)
- values
+insert into locations
+(
+  {0}	  
+)
+ values
    ({1})
\ No newline at end of file
@@ -0,0 +1,10 @@
+merge into locations as target
+using (select ? as clientname, ? as clientmnemonic, ? as millenvironment, ? as logical_domain_id) as source
+   on target.clientname = source.clientname
+  and target.clientmnemonic = source.clientmnemonic
+  and target.millenvironment = source.millenvironment
+  and target.logical_domain_id = source.logical_domain_id
+ when matched and {0} <> ? then
+   update set {1}
+ when not matched then
+   insert ({2}) values ({3});
\ No newline at end of file
@@ -0,0 +1,11 @@
+merge into locations target
+using (select ? clientname, ? clientmnemonic, ? millenvironment, ? logical_domain_id from dual) source
+   on (lower(target.clientname) = source.clientname
+  and lower(target.clientmnemonic) = source.clientmnemonic
+  and lower(target.millenvironment) = source.millenvironment
+  and target.logical_domain_id = source.logical_domain_id)
+ when matched then
+   update set {1}
+   where {0} <> ?
+ when not matched then
+   insert ({2}) values ({3})
\ No newline at end of file
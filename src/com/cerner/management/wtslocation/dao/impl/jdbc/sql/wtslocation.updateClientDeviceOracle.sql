@@ -1,6 +1,6 @@
-update locations
-   set clientname = ?{0}
-  where lower(clientname) = ? 
-    and lower(clientmnemonic) = ? 
-    and lower(millenvironment) = ?
+update locations
+   set clientname = ?{0}
+  where lower(clientname) = ? 
+    and lower(clientmnemonic) = ? 
+    and lower(millenvironment) = ?
     and logical_domain_id = ?
\ No newline at end of file
@@ -1,6 +1,6 @@
-update locations
-   set logical_domain_id = ?{0}
-  where clientname = ? 
-    and clientmnemonic = ?
-    and millenvironment = ?
+update locations
+   set logical_domain_id = ?{0}
+  where clientname = ? 
+    and clientmnemonic = ?
+    and millenvironment = ?
     and logical_domain_id = ?
\ No newline at end of file
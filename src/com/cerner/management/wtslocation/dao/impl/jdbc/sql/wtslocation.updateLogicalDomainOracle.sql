@@ -1,6 +1,6 @@
-update locations
-   set logical_domain_id = ?{0}
-  where lower(clientname) = lower(?) 
-    and lower(clientmnemonic) = lower(?) 
-    and lower(millenvironment) = lower(?)
+update locations
+   set logical_domain_id = ?{0}
+  where lower(clientname) = lower(?) 
+    and lower(clientmnemonic) = lower(?) 
+    and lower(millenvironment) = lower(?)
     and logical_domain_id = ?
\ No newline at end of file
@@ -0,0 +1,193 @@
+/*
+ * File: ClientDeviceCsvWriter.java
+ * Package: com.cerner.management.wtslocation.impl
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+import com.cerner.management.wtslocation.ClientDevice;
+import com.cerner.management.wtslocation.ClientDeviceAttribute;
+
+/**
+ * Writes client devices as the rows of an export CSV file. The kind of each column is worked out
+ * once from the headers, and each row is built in a reused buffer before it is written. Values that
+ * contain a comma, quote or line break are quoted as described in RFC 4180.
+ */
+class ClientDeviceCsvWriter implements Closeable
+{
+   private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss a")
+      .withZone(ZoneId.systemDefault());
+
+   private static final String NOT_AVAILABLE = "N/A";
+   private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+   private static final int SLOT_ATTRIBUTE = 0;
+   private static final int SLOT_UPDT_DT_TM = 1;
+   private static final int SLOT_LAST_UPDATED_BY = 2;
+
+   private final Writer out;
+   private final String[] headers;
+   private final String[] attributeKeys;
+   private final int[] slots;
+
+   private final StringBuilder row = new StringBuilder(256);
+   private char[] chars = new char[256];
+
+   /**
+    * @param out the writer of the file
+    * @param attributes the columns written after the client mnemonic, environment and device name
+    */
+   ClientDeviceCsvWriter(Writer out, List<String> attributes)
+   {
+      this.out = out;
+      this.headers = attributes.toArray(new String[attributes.size()]);
+      this.attributeKeys = new String[headers.length];
+      this.slots = new int[headers.length];
+
+      for (int i = 0; i < headers.length; i++)
+      {
+         if (headers[i].equalsIgnoreCase(WTSLocationMbeanImpl.HEADER_UPDT_DT_TM))
+         {
+            slots[i] = SLOT_UPDT_DT_TM;
+         }
+         else if (headers[i].equalsIgnoreCase(WTSLocationMbeanImpl.HEADER_LAST_UPDATED_BY))
+         {
+            slots[i] = SLOT_LAST_UPDATED_BY;
+         }
+         else
+         {
+            slots[i] = SLOT_ATTRIBUTE;
+            // converted once here, so the rows look their attributes up without converting the name
+            attributeKeys[i] = headers[i].toUpperCase();
+         }
+      }
+   }
+
+   /**
+    * Writes the row of column headers.
+    *
+    * @throws IOException
+    */
+   void writeHeader() throws IOException
+   {
+      row.setLength(0);
+      row.append(WTSLocationMbeanImpl.HEADER_CLIENT_MNEMONIC);
+      row.append(',');
+      row.append(WTSLocationMbeanImpl.HEADER_MILL_ENVIRONMENT);
+      row.append(',');
+      row.append(WTSLocationMbeanImpl.HEADER_DEVICE_NAME);
+      for (String header : headers)
+      {
+         row.append(',');
+         appendValue(header);
+      }
+      flushRow();
+   }
+
+   /**
+    * Writes the row of a device, starting on a new line.
+    *
+    * @param device
+    * @throws IOException
+    */
+   void writeClientDevice(ClientDevice device) throws IOException
+   {
+      row.setLength(0);
+      row.append(LINE_SEPARATOR);
+      appendValue(device.getClientMnemonic().toUpperCase());
+      row.append(',');
+      appendValue(device.getMillenniumEnvironment().toUpperCase());
+      row.append(',');
+      appendValue(device.getDeviceName());
+
+      for (int i = 0; i < slots.length; i++)
+      {
+         row.append(',');
+
+         switch (slots[i])
+         {
+            case SLOT_UPDT_DT_TM:
+               Date updtDtTm = device.getUpdtDtTm();
+               if (updtDtTm != null)
+               {
+                  DATE_FORMATTER.formatTo(updtDtTm.toInstant(), row);
+               }
+               else
+               {
+                  row.append(NOT_AVAILABLE);
+               }
+               break;
+            case SLOT_LAST_UPDATED_BY:
+               appendValue(device.getLastUpdatedBy() != null ? device.getLastUpdatedBy() : NOT_AVAILABLE);
+               break;
+            default:
+               ClientDeviceAttribute attribute = device.getAttributeByKey(attributeKeys[i]);
+               if (attribute != null)
+               {
+                  appendValue(attribute.getValue());
+               }
+         }
+      }
+      flushRow();
+   }
+
+   public void close() throws IOException
+   {
+      out.close();
+   }
+
+   /**
+    * Appends a value to the row, quoting it if needed. The value is copied and checked in the same
+    * pass; the opening quote is inserted afterwards only when a character requires it.
+    */
+   private void appendValue(String value)
+   {
+      if (value == null)
+      {
+         return;
+      }
+
+      int start = row.length();
+      boolean quote = false;
+      for (int i = 0, length = value.length(); i < length; i++)
+      {
+         char c = value.charAt(i);
+         if (c == '"')
+         {
+            row.append('"');
+            quote = true;
+         }
+         else if (c == ',' || c == '\r' || c == '\n')
+         {
+            quote = true;
+         }
+         row.append(c);
+      }
+
+      if (quote)
+      {
+         row.insert(start, '"');
+         row.append('"');
+      }
+   }
+
+   private void flushRow() throws IOException
+   {
+      int length = row.length();
+      if (chars.length < length)
+      {
+         chars = new char[Math.max(length, chars.length * 2)];
+      }
+      row.getChars(0, length, chars, 0);
+      out.write(chars, 0, length);
+   }
+}
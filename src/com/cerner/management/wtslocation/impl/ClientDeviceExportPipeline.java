@@ -0,0 +1,183 @@
+/*
+ * File: ClientDeviceExportPipeline.java
+ * Package: com.cerner.management.wtslocation.impl
+ * Project: management-wtslocation
+ */
+
+package com.cerner.management.wtslocation.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.cerner.management.exception.ManagementException;
+import com.cerner.management.logging.ManagementLogger;
+import com.cerner.management.wtslocation.ClientDevice;
+import com.cerner.management.wtslocation.ClientDeviceFilter;
+import com.cerner.management.wtslocation.dao.ClientDeviceHandler;
+import com.cerner.management.wtslocation.dao.WTSLocationManagementDAO;
+
+/**
+ * Reads the devices of an environment on a separate thread and hands them to a writer in chunks
+ * through a bounded buffer, so reading from the database and writing the export overlap. When the
+ * buffer is full the reader waits for the writer.
+ */
+class ClientDeviceExportPipeline
+{
+   private static final Logger logger = ManagementLogger.getLogger("com.cerner.management.wtslocation.impl");
+
+   // an empty chunk marks the end of the devices
+   private static final List<ClientDevice> END_OF_DEVICES = Collections.emptyList();
+
+   private final WTSLocationManagementDAO dao;
+   private final String clientMnemonic;
+   private final String domain;
+   private final ClientDeviceFilter filter;
+   private final Date updatedSince;
+   private final int chunkSize;
+   private final BlockingQueue<List<ClientDevice>> buffer;
+
+   private volatile ManagementException readFailure = null;
+   private volatile boolean stopped = false;
+
+   /**
+    * @param dao
+    * @param clientMnemonic
+    * @param domain
+    * @param filter the filter of the devices to read or null for every device
+    * @param updatedSince the earliest update time of the devices to read or null for every device
+    * @param capacity the maximum number of chunks waiting to be written
+    * @param chunkSize the number of devices in a chunk
+    */
+   ClientDeviceExportPipeline(WTSLocationManagementDAO dao, String clientMnemonic, String domain,
+      ClientDeviceFilter filter, Date updatedSince, int capacity, int chunkSize)
+   {
+      this.dao = dao;
+      this.clientMnemonic = clientMnemonic;
+      this.domain = domain;
+      this.filter = filter;
+      this.updatedSince = updatedSince;
+      this.chunkSize = Math.max(1, chunkSize);
+      this.buffer = new ArrayBlockingQueue<List<ClientDevice>>(Math.max(1, capacity));
+   }
+
+   /**
+    * Reads the devices and passes each one to the writer on the calling thread.
+    *
+    * @param writer
+    * @throws ManagementException if the devices cannot be read or the writer fails
+    */
+   void run(ClientDeviceHandler writer) throws ManagementException
+   {
+      Thread reader = new Thread(new Runnable()
+      {
+         public void run()
+         {
+            read();
+         }
+      }, "WTSLocationExport-" + domain);
+      reader.setDaemon(true);
+      reader.start();
+
+      boolean completed = false;
+      try
+      {
+         List<ClientDevice> chunk;
+         while ((chunk = buffer.take()) != END_OF_DEVICES)
+         {
+            for (ClientDevice device : chunk)
+            {
+               writer.handleClientDevice(device);
+            }
+         }
+         completed = true;
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new ManagementException("Interrupted while exporting device data.", e);
+      }
+      finally
+      {
+         if (!completed)
+         {
+            // stop the reader, it may be waiting for room in the buffer
+            stopped = true;
+            reader.interrupt();
+         }
+      }
+
+      if (readFailure != null)
+      {
+         throw readFailure;
+      }
+   }
+
+   private void read()
+   {
+      final List<List<ClientDevice>> pending = new ArrayList<List<ClientDevice>>(1);
+      pending.add(new ArrayList<ClientDevice>(chunkSize));
+
+      try
+      {
+         dao.streamClientDevices(clientMnemonic, domain, filter, updatedSince, new ClientDeviceHandler()
+         {
+            public void handleClientDevice(ClientDevice device) throws ManagementException
+            {
+               List<ClientDevice> chunk = pending.get(0);
+               chunk.add(device);
+               if (chunk.size() >= chunkSize)
+               {
+                  put(chunk);
+                  pending.set(0, new ArrayList<ClientDevice>(chunkSize));
+               }
+            }
+         });
+
+         if (!pending.get(0).isEmpty())
+         {
+            put(pending.get(0));
+         }
+      }
+      catch (ManagementException e)
+      {
+         readFailure = e;
+      }
+      catch (RuntimeException e)
+      {
+         readFailure = new ManagementException("An error occurred while reading device data.", e);
+      }
+      finally
+      {
+         // the writer waits for an end marker unless it has already stopped
+         if (!stopped)
+         {
+            try
+            {
+               buffer.put(END_OF_DEVICES);
+            }
+            catch (InterruptedException e)
+            {
+               logger.log(Level.FINE, "The device export was stopped before all devices were read.");
+            }
+         }
+      }
+   }
+
+   private void put(List<ClientDevice> chunk) throws ManagementException
+   {
+      try
+      {
+         buffer.put(chunk);
+      }
+      catch (InterruptedException e)
+      {
+         throw new ManagementException("The device export was stopped before all devices were read.", e);
+      }
+   }
+}